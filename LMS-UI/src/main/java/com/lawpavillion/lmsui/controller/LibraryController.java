@@ -1,7 +1,10 @@
 package com.lawpavillion.lmsui.controller;
 
 import com.lawpavillion.lmsui.model.Book;
+import com.lawpavillion.lmsui.model.CursorPage;
 import com.lawpavillion.lmsui.service.ApiService;
+import com.lawpavillion.lmsui.service.BookConflictException;
+import com.lawpavillion.lmsui.service.DuplicateIsbnException;
 import com.lawpavillion.lmsui.util.DialogUtils;
 import com.lawpavillion.lmsui.util.ValidationUtils;
 import javafx.animation.FadeTransition;
@@ -23,7 +26,10 @@ import org.springframework.data.domain.Page;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -82,6 +88,12 @@ public class LibraryController {
     private int totalPages = 1;
     private long totalElements = 0;
 
+    // Cursor state for browsing (search results still page by number)
+    private String currentCursor = null;
+    private boolean browseFromEnd = false;
+    private String nextCursor = null;
+    private String prevCursor = null;
+
     // State for the book currently being edited (null if adding new)
     // State for the book currently being edited (null if adding new)
     private Book currentBookInModal = null;
@@ -195,19 +207,23 @@ public class LibraryController {
         Platform.runLater(() -> {
             try {
                 updateStatus("Loading books...");
-                Page<Book> page;
-                if (currentSearchQuery == null || currentSearchQuery.isEmpty()) {
-                    page = apiService.getBooks(currentPage, pageSize);
+                if (isBrowsing()) {
+                    CursorPage page = apiService.getBooksByCursor(currentCursor, pageSize, browseFromEnd);
+                    bookList.setAll(page.getContent());
+                    nextCursor = page.getNextCursor();
+                    prevCursor = page.getPrevCursor();
+
+                    totalElements = apiService.countBooks();
+                    totalPages = (int) Math.ceil((double) totalElements / pageSize);
                 } else {
-                    page = apiService.searchBooks(currentSearchQuery, currentPage, pageSize);
+                    Page<Book> page = apiService.searchBooks(currentSearchQuery, currentPage, pageSize);
+                    bookList.setAll(page.getContent());
+                    // bookTable.setItems(bookList); // Already set in initialize, no need to set again unless list reference changes
+
+                    totalElements = page.getTotalElements();
+                    totalPages = page.getTotalPages();
                 }
                 
-                bookList.setAll(page.getContent());
-                // bookTable.setItems(bookList); // Already set in initialize, no need to set again unless list reference changes
-                
-                totalElements = page.getTotalElements();
-                totalPages = page.getTotalPages();
-                
                 updatePaginationInfo();
                 
                 if (bookList.isEmpty()) {
@@ -231,12 +247,31 @@ public class LibraryController {
     }
 
     private void updatePaginationButtons() {
+        if (isBrowsing()) {
+            firstPageButton.setDisable(prevCursor == null);
+            prevPageButton.setDisable(prevCursor == null);
+            nextPageButton.setDisable(nextCursor == null);
+            lastPageButton.setDisable(nextCursor == null);
+            return;
+        }
         firstPageButton.setDisable(currentPage == 0);
         prevPageButton.setDisable(currentPage == 0);
         nextPageButton.setDisable(currentPage >= totalPages - 1);
         lastPageButton.setDisable(currentPage >= totalPages - 1);
     }
 
+    private boolean isBrowsing() {
+        return currentSearchQuery == null || currentSearchQuery.isEmpty();
+    }
+
+    private void resetCursor() {
+        currentPage = 0;
+        currentCursor = null;
+        browseFromEnd = false;
+        nextCursor = null;
+        prevCursor = null;
+    }
+
     private void updateStatus(String message) {
         Platform.runLater(() -> statusLabel.setText(message));
     }
@@ -289,6 +324,7 @@ public class LibraryController {
     private void handleClearSearch() {
         currentSearchQuery = "";
         searchField.clear();
+        resetCursor();
         
         activeSearchChip.setVisible(false);
         activeSearchChip.setManaged(false);
@@ -318,10 +354,6 @@ public class LibraryController {
 
     @FXML
     private void handleConfirmDelete() {
-        List<Book> selectedBooks = bookTable.getItems().stream()
-                .filter(Book::isSelected)
-                .collect(Collectors.toList());
-
         if (selectedBooks.isEmpty()) {
             showToast("No books selected", "error");
             deleteOverlay.setVisible(false);
@@ -332,11 +364,19 @@ public class LibraryController {
                 .map(Book::getId)
                 .collect(Collectors.toList());
 
-        // Call backend
-        apiService.deleteBooks(idsToDelete);
+        // Call backend (one request for the whole selection)
+        int deleted;
+        try {
+            deleted = apiService.deleteBooks(idsToDelete);
+        } catch (Exception e) {
+            showToast("Failed to delete: " + e.getMessage(), "error");
+            deleteOverlay.setVisible(false);
+            return;
+        }
 
         // Success
-        showToast("Book(s) deleted successfully", "success");
+        showToast(deleted + " book(s) deleted successfully", "success");
+        selectedBooks.clear();
         loadBooks();
         deleteSelectedButton.setDisable(true);
         deleteSelectedButton.setVisible(false);
@@ -415,24 +455,73 @@ public class LibraryController {
                 apiService.addBook(newBook);
                 showToast("Book added successfully", "success");
             } else {
-                // Update
-                currentBookInModal.setTitle(title);
-                currentBookInModal.setAuthor(author);
-                currentBookInModal.setIsbn(isbn);
-                currentBookInModal.setPublishedDate(date);
-                // Status remains unchanged during edit (or handled differently if needed)
-                apiService.updateBook(currentBookInModal.getId(), currentBookInModal);
+                // Update - send only the fields the user actually changed
+                Map<String, Object> changes = new HashMap<>();
+                if (!Objects.equals(title, currentBookInModal.getTitle())) changes.put("title", title);
+                if (!Objects.equals(author, currentBookInModal.getAuthor())) changes.put("author", author);
+                if (!Objects.equals(isbn, currentBookInModal.getIsbn())) changes.put("isbn", isbn);
+                if (!Objects.equals(date, currentBookInModal.getPublishedDate())) changes.put("publishedDate", date);
+
+                if (changes.isEmpty()) {
+                    handleCancelModal();
+                    showToast("No changes to save", "info");
+                    return;
+                }
+                // The server rejects the edit if someone else saved the book after we loaded it
+                changes.put("version", currentBookInModal.getVersion());
+                if (!saveChanges(currentBookInModal.getId(), changes)) {
+                    return;
+                }
                 showToast("Book updated successfully", "success");
             }
             
             handleCancelModal();
             loadBooks();
             
+        } catch (DuplicateIsbnException e) {
+            // Keep the form open so the ISBN can be corrected
+            showToast(e.getMessage(), "error");
         } catch (Exception e) {
             showToast("Failed to save: " + e.getMessage(), "error");
         }
     }
     
+    /**
+     * Patches the book, asking the user how to proceed whenever someone else saved it first.
+     * Returns false if the user chose to reload the server's copy instead of saving.
+     */
+    private boolean saveChanges(Long id, Map<String, Object> changes) {
+        while (true) {
+            try {
+                apiService.patchBook(id, changes);
+                return true;
+            } catch (BookConflictException e) {
+                Book current = e.getCurrent();
+                if (current == null) {
+                    throw e;
+                }
+
+                ButtonType reload = new ButtonType("Reload");
+                ButtonType overwrite = new ButtonType("Keep my changes");
+                Optional<ButtonType> choice = DialogUtils.showChoice("Book Changed",
+                        "\"" + current.getTitle() + "\" was changed by someone else while you were editing it.\n\n"
+                                + "Reload to see their version, or keep your changes to save them on top of it.",
+                        reload, overwrite, ButtonType.CANCEL);
+
+                if (choice.isPresent() && choice.get() == overwrite) {
+                    changes.put("version", current.getVersion());
+                    continue;
+                }
+                if (choice.isPresent() && choice.get() == reload) {
+                    currentBookInModal = current;
+                    openModal("Edit Book", current);
+                    loadBooks();
+                }
+                return false;
+            }
+        }
+    }
+
     // ===== TOAST LOGIC =====
 
     private void showToast(String message, String type) {
@@ -479,7 +568,7 @@ public class LibraryController {
             return false;
         }
         if (!ValidationUtils.isValidISBN(isbn)) {
-            showToast("Invalid ISBN (10-13 digits)", "error");
+            showToast("Invalid ISBN (ISBN-10 or ISBN-13, check digit included)", "error");
             return false;
         }
         if (!ValidationUtils.isValidPublishedDate(publishedDate)) {
@@ -493,13 +582,19 @@ public class LibraryController {
 
     @FXML
     private void handleFirstPage() {
-        currentPage = 0;
+        resetCursor();
         loadBooks();
     }
 
     @FXML
     private void handlePreviousPage() {
-        if (currentPage > 0) {
+        if (isBrowsing()) {
+            if (prevCursor != null) {
+                currentCursor = prevCursor;
+                currentPage = Math.max(0, currentPage - 1);
+                loadBooks();
+            }
+        } else if (currentPage > 0) {
             currentPage--;
             loadBooks();
         }
@@ -507,7 +602,13 @@ public class LibraryController {
 
     @FXML
     private void handleNextPage() {
-        if (currentPage < totalPages - 1) {
+        if (isBrowsing()) {
+            if (nextCursor != null) {
+                currentCursor = nextCursor;
+                currentPage++;
+                loadBooks();
+            }
+        } else if (currentPage < totalPages - 1) {
             currentPage++;
             loadBooks();
         }
@@ -515,6 +616,11 @@ public class LibraryController {
 
     @FXML
     private void handleLastPage() {
+        if (isBrowsing()) {
+            // Keyset pages cannot jump by offset, so the last page is read backwards from the oldest book
+            currentCursor = null;
+            browseFromEnd = true;
+        }
         currentPage = Math.max(0, totalPages - 1);
         loadBooks();
     }
@@ -14,6 +14,7 @@ public class Book {
     private LocalDate publishedDate;
     private String status; // e.g., "Available", "Borrowed"
     private boolean selected; // UI selection state
+    private Long version; // Server version this copy was read at, sent back on edit
 
     // Default constructor
     public Book() {
@@ -79,6 +80,14 @@ public class Book {
         this.publishedDate = publishedDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -96,6 +105,7 @@ public class Book {
                 ", isbn='" + isbn + '\'' +
                 ", publishedDate=" + publishedDate +
                 ", status='" + status + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,47 @@
+package com.lawpavillion.lmsui.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of books addressed by opaque cursors, matching the backend's CursorPage structure.
+ */
+public class CursorPage {
+    private List<Book> content;
+    private String nextCursor;
+    private String prevCursor;
+
+    public CursorPage() {
+        this.content = Collections.emptyList();
+    }
+
+    public CursorPage(List<Book> content, String nextCursor, String prevCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+
+    public static CursorPage empty() {
+        return new CursorPage();
+    }
+
+    public List<Book> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return prevCursor != null;
+    }
+}
@@ -1,35 +1,70 @@
 package com.lawpavillion.lmsui.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializer;
 import com.lawpavillion.lmsui.model.Book;
+import com.lawpavillion.lmsui.model.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Service class for handling REST API communication with the Spring Boot backend.
  * Uses RestTemplate for HTTP requests and Gson for JSON serialization.
+ * Responses are requested as CBOR and decoded with Jackson; servers without CBOR support answer in JSON instead.
  */
 public class ApiService {
-    private static final String BASE_URL = "http://localhost:8080/api/books";
+    // Override with -Dlms.api.url=http://host:port to talk to another server, e.g. the reactive backend on 8082
+    private static final String BASE_URL = System.getProperty("lms.api.url", "http://localhost:8080") + "/api/books";
+    private static final int CONDITIONAL_CACHE_SIZE = 64;
+    // CBOR first; JSON for servers that do not offer it
+    private static final String ACCEPT = "application/cbor, application/json;q=0.9";
+    // Error field of the server's 409 for an ISBN another book already has
+    private static final String DUPLICATE_ISBN_ERROR = "Duplicate ISBN";
     private final RestTemplate restTemplate;
     private final Gson gson;
+    private final ObjectMapper cbor = new CBORMapper();
+
+    // Last ETag and parsed result per GET URL, most recently used last
+    private final Map<URI, CachedResponse> conditionalCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<URI, CachedResponse> eldest) {
+                    return size() > CONDITIONAL_CACHE_SIZE;
+                }
+            });
+
+    private record CachedResponse(String eTag, Object value) {
+    }
 
     public ApiService() {
-        this.restTemplate = new RestTemplate();
+        // JDK HttpClient rather than HttpURLConnection, which cannot send PATCH
+        this.restTemplate = new RestTemplate(new JdkClientHttpRequestFactory());
         
         // Configure Gson with LocalDate adapter
         this.gson = new GsonBuilder()
@@ -62,47 +97,40 @@ public class ApiService {
      */
     public Page<Book> getBooks(int page, int size) {
         try {
-            String url = BASE_URL + "?page=" + page + "&size=" + size;
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                // Parse the ApiResponse wrapper
-                Map<String, Object> apiResponse = gson.fromJson(response.getBody(), Map.class);
-                
+            Page<Book> result = getConditional(BASE_URL + "?page={page}&size={size}", apiResponse -> {
                 // Check if the response was successful
                 Boolean success = (Boolean) apiResponse.get("success");
                 if (success == null || !success) {
                     System.err.println("API returned unsuccessful response");
                     return Page.empty();
                 }
-                
+
                 // Extract the data (which contains the Page)
                 Map<String, Object> pageData = (Map<String, Object>) apiResponse.get("data");
                 if (pageData == null) {
                     // No data means empty result, not an error
                     return Page.empty();
                 }
-                
+
                 // Extract content array
                 List<Map<String, Object>> content = (List<Map<String, Object>>) pageData.get("content");
                 if (content == null || content.isEmpty()) {
                     // Empty content is valid, just return empty page
                     return Page.empty();
                 }
-                
+
                 // Convert content to Book objects
                 Book[] books = new Book[content.size()];
                 for (int i = 0; i < content.size(); i++) {
-                    books[i] = gson.fromJson(gson.toJson(content.get(i)), Book.class);
+                    books[i] = toBook(content.get(i));
                 }
-                
+
                 // Extract pagination metadata
-                int totalElements = ((Double) pageData.get("totalElements")).intValue();
-                int totalPages = ((Double) pageData.get("totalPages")).intValue();
-                
+                int totalElements = ((Number) pageData.get("totalElements")).intValue();
+
                 return new PageImpl<>(Arrays.asList(books), PageRequest.of(page, size), totalElements);
-            }
-            return Page.empty();
+            }, page, size);
+            return result == null ? Page.empty() : result;
         } catch (Exception e) {
             System.err.println("Error fetching paginated books: " + e.getMessage());
             e.printStackTrace();
@@ -111,25 +139,66 @@ public class ApiService {
         }
     }
 
+    /**
+     * Fetch books newest-first using the backend's keyset (cursor) pagination.
+     * Pass null as the cursor to start from the newest book, or from the oldest when fromEnd is set.
+     */
+    public CursorPage getBooksByCursor(String cursor, int size, boolean fromEnd) {
+        try {
+            String url = BASE_URL + "/cursor?cursor={cursor}&size={size}&fromEnd={fromEnd}";
+            CursorPage result = getConditional(url, apiResponse -> {
+                Map<String, Object> pageData = (Map<String, Object>) apiResponse.get("data");
+                if (pageData == null) return CursorPage.empty();
+
+                List<Map<String, Object>> content = (List<Map<String, Object>>) pageData.get("content");
+                List<Book> books = content == null ? Collections.emptyList() : content.stream()
+                        .map(this::toBook)
+                        .toList();
+
+                return new CursorPage(books, (String) pageData.get("nextCursor"), (String) pageData.get("prevCursor"));
+            }, cursor == null ? "" : cursor, size, fromEnd);
+            return result == null ? CursorPage.empty() : result;
+        } catch (Exception e) {
+            System.err.println("Error fetching books by cursor: " + e.getMessage());
+            e.printStackTrace();
+            return CursorPage.empty();
+        }
+    }
+
+    /**
+     * Fetch the total number of books in the library.
+     */
+    public long countBooks() {
+        try {
+            Long count = getConditional(BASE_URL + "/count", apiResponse -> {
+                Number data = (Number) apiResponse.get("data");
+                return data == null ? 0L : data.longValue();
+            });
+            return count == null ? 0 : count;
+        } catch (Exception e) {
+            System.err.println("Error counting books: " + e.getMessage());
+            return 0;
+        }
+    }
+
     /**
      * Add a new book to the library.
+     * Throws {@link DuplicateIsbnException} when another book already has the ISBN.
      */
     public Book addBook(Book book) {
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
             String bookJson = gson.toJson(book);
-            HttpEntity<String> request = new HttpEntity<>(bookJson, headers);
+            HttpEntity<String> request = new HttpEntity<>(bookJson, jsonHeaders());
             
-            ResponseEntity<String> response = restTemplate.postForEntity(BASE_URL, request, String.class);
+            ResponseEntity<byte[]> response = restTemplate.exchange(BASE_URL, HttpMethod.POST, request, byte[].class);
             if (response.getStatusCode() == HttpStatus.CREATED || response.getStatusCode() == HttpStatus.OK) {
                 // Parse ApiResponse wrapper
-                Map<String, Object> apiResponse = gson.fromJson(response.getBody(), Map.class);
-                Map<String, Object> bookData = (Map<String, Object>) apiResponse.get("data");
-                return gson.fromJson(gson.toJson(bookData), Book.class);
+                Map<String, Object> apiResponse = decode(response.getHeaders(), response.getBody());
+                return toBook(apiResponse.get("data"));
             }
             throw new RuntimeException("Failed to add book");
+        } catch (HttpClientErrorException.Conflict e) {
+            throw toConflict(e);
         } catch (Exception e) {
             System.err.println("Error adding book: " + e.getMessage());
             throw new RuntimeException("Failed to add book to server", e);
@@ -138,31 +207,73 @@ public class ApiService {
 
     /**
      * Update an existing book.
+     * Throws {@link BookConflictException} when someone else changed the book since the version it carries,
+     * and {@link DuplicateIsbnException} when another book already has the new ISBN.
      */
     public Book updateBook(Long id, Book book) {
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
             String bookJson = gson.toJson(book);
-            HttpEntity<String> request = new HttpEntity<>(bookJson, headers);
+            HttpEntity<String> request = new HttpEntity<>(bookJson, jsonHeaders());
             
             String url = BASE_URL + "/" + id;
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.PUT, request, byte[].class);
             
             if (response.getStatusCode() == HttpStatus.OK) {
                 // Parse ApiResponse wrapper
-                Map<String, Object> apiResponse = gson.fromJson(response.getBody(), Map.class);
-                Map<String, Object> bookData = (Map<String, Object>) apiResponse.get("data");
-                return gson.fromJson(gson.toJson(bookData), Book.class);
+                Map<String, Object> apiResponse = decode(response.getHeaders(), response.getBody());
+                return toBook(apiResponse.get("data"));
             }
             throw new RuntimeException("Failed to update book");
+        } catch (HttpClientErrorException.Conflict e) {
+            throw toConflict(e);
         } catch (Exception e) {
             System.err.println("Error updating book: " + e.getMessage());
             throw new RuntimeException("Failed to update book on server", e);
         }
     }
 
+    /**
+     * Partially update a book, sending only the changed fields.
+     * Keys are Book property names (title, author, isbn, publishedDate), plus the version the edit was based on.
+     * Throws {@link BookConflictException} when someone else changed the book since that version,
+     * and {@link DuplicateIsbnException} when another book already has the new ISBN.
+     */
+    public Book patchBook(Long id, Map<String, Object> changes) {
+        try {
+            HttpEntity<String> request = new HttpEntity<>(gson.toJson(changes), jsonHeaders());
+
+            String url = BASE_URL + "/" + id;
+            ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.PATCH, request, byte[].class);
+
+            if (response.getStatusCode() == HttpStatus.OK) {
+                Map<String, Object> apiResponse = decode(response.getHeaders(), response.getBody());
+                return toBook(apiResponse.get("data"));
+            }
+            throw new RuntimeException("Failed to update book");
+        } catch (HttpClientErrorException.Conflict e) {
+            throw toConflict(e);
+        } catch (Exception e) {
+            System.err.println("Error patching book: " + e.getMessage());
+            throw new RuntimeException("Failed to update book on server", e);
+        }
+    }
+
+    /**
+     * The server answers 409 when the book was changed since this client read it, with the book's current
+     * state in the error body, or when another book has the ISBN, with that book in the body instead.
+     * The error field tells the two apart.
+     */
+    private RuntimeException toConflict(HttpClientErrorException.Conflict e) {
+        Map<String, Object> errorResponse = decode(e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        Object data = errorResponse == null ? null : errorResponse.get("data");
+        Book book = data == null ? null : toBook(data);
+        String message = errorResponse == null ? e.getMessage() : (String) errorResponse.get("message");
+        if (errorResponse != null && DUPLICATE_ISBN_ERROR.equals(errorResponse.get("error"))) {
+            return new DuplicateIsbnException(message, book);
+        }
+        return new BookConflictException(message, book);
+    }
+
     /**
      * Delete a book by ID.
      */
@@ -177,43 +288,122 @@ public class ApiService {
     }
 
     /**
-     * Delete multiple books by ID.
+     * Delete multiple books by ID in a single request.
+     * Returns the number of books the server actually deleted.
      */
-    public void deleteBooks(List<Long> ids) {
-        for (Long id : ids) {
-            deleteBook(id);
+    public int deleteBooks(List<Long> ids) {
+        try {
+            HttpEntity<String> request = new HttpEntity<>(gson.toJson(ids), jsonHeaders());
+
+            ResponseEntity<byte[]> response = restTemplate.exchange(BASE_URL, HttpMethod.DELETE, request, byte[].class);
+            Map<String, Object> apiResponse = decode(response.getHeaders(), response.getBody());
+            Map<String, Object> result = (Map<String, Object>) apiResponse.get("data");
+            List<?> deleted = result == null ? null : (List<?>) result.get("deleted");
+            return deleted == null ? 0 : deleted.size();
+        } catch (Exception e) {
+            System.err.println("Error deleting books: " + e.getMessage());
+            throw new RuntimeException("Failed to delete books from server", e);
         }
     }
 
     /**
-     * Search books by title or author using backend endpoint.
+     * Search books by title, author or ISBN using the backend search index.
      */
     public Page<Book> searchBooks(String query, int page, int size) {
         try {
-            String url = BASE_URL + "/search?query=" + query + "&page=" + page + "&size=" + size;
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> apiResponse = gson.fromJson(response.getBody(), Map.class);
+            String url = BASE_URL + "/search?query={query}&page={page}&size={size}";
+            Page<Book> result = getConditional(url, apiResponse -> {
                 Map<String, Object> pageData = (Map<String, Object>) apiResponse.get("data");
-                
+
                 if (pageData == null) return Page.empty();
-                
+
                 List<Map<String, Object>> content = (List<Map<String, Object>>) pageData.get("content");
                 if (content == null || content.isEmpty()) return Page.empty();
-                
+
                 Book[] books = new Book[content.size()];
                 for (int i = 0; i < content.size(); i++) {
-                    books[i] = gson.fromJson(gson.toJson(content.get(i)), Book.class);
+                    books[i] = toBook(content.get(i));
                 }
-                
-                int totalElements = ((Double) pageData.get("totalElements")).intValue();
+
+                int totalElements = ((Number) pageData.get("totalElements")).intValue();
                 return new PageImpl<>(Arrays.asList(books), PageRequest.of(page, size), totalElements);
-            }
-            return Page.empty();
+            }, query, page, size);
+            return result == null ? Page.empty() : result;
         } catch (Exception e) {
             System.err.println("Error searching books: " + e.getMessage());
             return Page.empty();
         }
     }
+
+    /**
+     * GET a URL, revalidating with If-None-Match when an earlier response for it carried an ETag.
+     * On 304 Not Modified the earlier parsed result is returned, so unchanged data is neither downloaded nor parsed again.
+     * Larger list pages are accepted gzip-compressed and inflated here.
+     * The parser receives the decoded ApiResponse wrapper. Returns null when the response has no body.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getConditional(String urlTemplate, Function<Map<String, Object>, T> parser, Object... uriVariables) {
+        URI uri = restTemplate.getUriTemplateHandler().expand(urlTemplate, uriVariables);
+        CachedResponse cached = conditionalCache.get(uri);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, ACCEPT);
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.eTag());
+        }
+        ResponseEntity<byte[]> response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return (T) cached.value();
+        }
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            return null;
+        }
+
+        T value = parser.apply(decode(response.getHeaders(), response.getBody()));
+        String eTag = response.getHeaders().getETag();
+        if (eTag != null) {
+            conditionalCache.put(uri, new CachedResponse(eTag, value));
+        } else {
+            conditionalCache.remove(uri);
+        }
+        return value;
+    }
+
+    // JSON request bodies, answered in CBOR when the server offers it
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.ACCEPT, ACCEPT);
+        return headers;
+    }
+
+    /**
+     * Reads a response body into maps, lists and scalars, from CBOR or JSON according to its Content-Type.
+     * Returns null for an empty body.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> decode(HttpHeaders headers, byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        boolean gzip = headers != null && "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        MediaType contentType = headers == null ? null : headers.getContentType();
+        try (InputStream in = gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(body))
+                : new ByteArrayInputStream(body)) {
+            if (contentType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+                return cbor.readValue(in, Map.class);
+            }
+            return gson.fromJson(new String(in.readAllBytes(), StandardCharsets.UTF_8), Map.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read response body", e);
+        }
+    }
+
+    // Gson walks the decoded map directly instead of printing it back to a JSON string first
+    private Book toBook(Object item) {
+        return item == null ? null : gson.fromJson(gson.toJsonTree(item), Book.class);
+    }
 }
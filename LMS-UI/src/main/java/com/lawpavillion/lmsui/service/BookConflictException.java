@@ -0,0 +1,20 @@
+package com.lawpavillion.lmsui.service;
+
+import com.lawpavillion.lmsui.model.Book;
+
+/**
+ * Thrown when a save is rejected because the book was changed on the server since it was loaded.
+ * Carries the server's current copy so the user can reload it or reapply their edit on top of it.
+ */
+public class BookConflictException extends RuntimeException {
+    private final Book current;
+
+    public BookConflictException(String message, Book current) {
+        super(message);
+        this.current = current;
+    }
+
+    public Book getCurrent() {
+        return current;
+    }
+}
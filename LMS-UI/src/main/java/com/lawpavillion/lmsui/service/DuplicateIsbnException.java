@@ -0,0 +1,20 @@
+package com.lawpavillion.lmsui.service;
+
+import com.lawpavillion.lmsui.model.Book;
+
+/**
+ * Thrown when a save is rejected because another book already has the ISBN, however either was hyphenated.
+ * The message is the server's; the book holding the ISBN comes with it.
+ */
+public class DuplicateIsbnException extends RuntimeException {
+    private final Book existing;
+
+    public DuplicateIsbnException(String message, Book existing) {
+        super(message);
+        this.existing = existing;
+    }
+
+    public Book getExisting() {
+        return existing;
+    }
+}
@@ -60,4 +60,15 @@ public class DialogUtils {
         Optional<ButtonType> result = alert.showAndWait();
         return result.isPresent() && result.get() == ButtonType.OK;
     }
+
+    /**
+     * Show a dialog with custom buttons and return the one the user pressed.
+     */
+    public static Optional<ButtonType> showChoice(String title, String message, ButtonType... buttons) {
+        Alert alert = new Alert(Alert.AlertType.WARNING, message, buttons);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.initModality(Modality.APPLICATION_MODAL);
+        return alert.showAndWait();
+    }
 }
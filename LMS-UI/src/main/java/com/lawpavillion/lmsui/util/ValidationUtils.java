@@ -1,5 +1,7 @@
 package com.lawpavillion.lmsui.util;
 
+import com.lawpavillion.isbn.IsbnChecksum;
+
 import java.time.LocalDate;
 
 /**
@@ -15,19 +17,11 @@ public class ValidationUtils {
     }
 
     /**
-     * Validate ISBN format (basic validation).
-     * Accepts ISBN-10 or ISBN-13 formats.
+     * Validate an ISBN-10 or ISBN-13, check digit included.
+     * Same rules as the server's @Isbn constraint, so a value accepted here is not rejected on save.
      */
     public static boolean isValidISBN(String isbn) {
-        if (isEmpty(isbn)) {
-            return false;
-        }
-        
-        // Remove hyphens and spaces
-        String cleanIsbn = isbn.replaceAll("[\\s-]", "");
-        
-        // Check if it's 10 or 13 digits
-        return cleanIsbn.matches("\\d{10}") || cleanIsbn.matches("\\d{13}");
+        return !isEmpty(isbn) && IsbnChecksum.isValid(isbn.strip());
     }
 
     /**
@@ -1,8 +1,11 @@
 module com.lawpavillion.lmsui {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.net.http;
     requires spring.web;
     requires com.google.gson;
+    requires com.fasterxml.jackson.databind;
+    requires com.fasterxml.jackson.dataformat.cbor;
     requires spring.data.commons;
     requires org.kordamp.ikonli.javafx;
     requires org.kordamp.ikonli.materialdesign2;
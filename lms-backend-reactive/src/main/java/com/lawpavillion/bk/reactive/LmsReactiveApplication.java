@@ -0,0 +1,13 @@
+package com.lawpavillion.bk.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class LmsReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(LmsReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.lawpavillion.bk.reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Serves and accepts application/cbor alongside JSON. Clients that send Accept: application/cbor get the same
+ * documents in binary form, and request bodies may be sent as CBOR with the matching Content-Type.
+ */
+@Configuration
+public class CborConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper cborMapper;
+
+    // Built from Spring Boot's Jackson builder so CBOR carries the same property names and date formats as JSON
+    public CborConfig(Jackson2ObjectMapperBuilder builder) {
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+    }
+}
@@ -0,0 +1,348 @@
+package com.lawpavillion.bk.reactive.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.reactive.dto.ApiResponse;
+import com.lawpavillion.bk.reactive.dto.BookDto;
+import com.lawpavillion.bk.reactive.dto.BookPatchDto;
+import com.lawpavillion.bk.reactive.dto.BulkDeleteResult;
+import com.lawpavillion.bk.reactive.dto.CursorPage;
+import com.lawpavillion.bk.reactive.dto.PageResponse;
+import com.lawpavillion.bk.reactive.service.BookCsv;
+import com.lawpavillion.bk.reactive.service.BookFields;
+import com.lawpavillion.bk.reactive.service.BookService;
+import com.lawpavillion.bk.reactive.service.CatalogFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The blocking backend's /api/books contract on WebFlux: same paths, parameters, ApiResponse envelope and errors.
+ * Handlers return publishers, so a request holds no thread while it waits on the database.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/books")
+@Tag(name = "Book Management", description = "APIs for managing library books")
+@Slf4j
+public class BookController {
+
+    private static final String FIELDS_DESCRIPTION = "Comma-separated book fields to return, e.g. title,author; " +
+            "id is always included. Omit for all fields";
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    @Operation(summary = "Add a new book", description = "Creates a new book record in the library")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Book created successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<BookDto>>> addBooks(
+            @Valid @RequestBody @Parameter(description = "Book details to add") BookDto request){
+
+        return bookService.addBook(request).map(bookDto -> {
+            log.info("Book added successfully with ID: {}", bookDto.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(ok("Book Added Successfully", bookDto));
+        });
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all books", description = "Retrieves a paginated list of all books in the library")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<PageResponse<?>>>> getAllBooks(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            ServerWebExchange exchange){
+
+        Set<String> selected = BookFields.parse(fields);
+        String eTag = catalogETag();
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.empty();
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
+        return bookService.getAllBooks(pageable).map(bookDtoPage -> {
+            log.info("Retrieved {} books, page {} of size {}", bookDtoPage.getTotalElements(), page, size);
+            return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(ok("All books delivered successfully!", PageResponse.of(project(bookDtoPage, selected))));
+        });
+    }
+
+    @GetMapping("/slice")
+    @Operation(summary = "Get a slice of books", description = "Retrieves a page of books without computing the total count; " +
+            "the response only reports whether a next page exists")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<PageResponse<?>>>> getBookSlice(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            ServerWebExchange exchange){
+
+        Set<String> selected = BookFields.parse(fields);
+        String eTag = catalogETag();
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.empty();
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
+        return bookService.getBookSlice(pageable).map(bookSlice -> {
+            log.info("Retrieved {} books, page {} of size {}, has next: {}", bookSlice.getNumberOfElements(), page, size, bookSlice.hasNext());
+            return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(ok("All books delivered successfully!", PageResponse.of(project(bookSlice, selected))));
+        });
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get books by cursor", description = "Retrieves books newest-first using keyset pagination on (updatedAt, id). " +
+            "Pass the nextCursor or prevCursor from a previous response to move between pages")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<CursorPage<?>>>> getBooksByCursor(
+            @Parameter(description = "Opaque cursor from a previous response; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Start from the oldest books instead of the newest when no cursor is given") @RequestParam(defaultValue = "false") boolean fromEnd,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            ServerWebExchange exchange){
+
+        Set<String> selected = BookFields.parse(fields);
+        String eTag = catalogETag();
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.empty();
+        }
+
+        return bookService.getBooksByCursor(cursor, size, fromEnd).map(bookPage -> {
+            log.info("Retrieved {} books by cursor of size {}", bookPage.getContent().size(), size);
+            return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(ok("All books delivered successfully!",
+                    selected == null ? bookPage : bookPage.map(book -> BookFields.select(book, selected))));
+        });
+    }
+
+    @GetMapping("/count")
+    @Operation(summary = "Count books", description = "Returns the total number of books in the library")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Count retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<Long>>> countBooks(ServerWebExchange exchange){
+
+        String eTag = catalogETag();
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.empty();
+        }
+
+        return bookService.countBooks()
+                .map(count -> ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(ok("Book count delivered successfully!", count)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all books", description = "Streams the whole catalog as NDJSON or CSV. " +
+            "Rows are written as the database produces them, so the export does not buffer the catalog in memory")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Catalog export stream")
+    })
+    public ResponseEntity<Flux<String>> exportBooks(
+            @Parameter(description = "Output format: NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") CatalogFormat format){
+
+        Flux<BookDto> books = bookService.streamBooks();
+        // Each row is rendered to its own line, so the stream is encoded the same way whatever the format
+        Flux<String> body = switch (format) {
+            case NDJSON -> books.map(this::toJsonLine);
+            case CSV -> Flux.concat(Flux.just(BookCsv.HEADER), books.map(BookCsv::row));
+        };
+
+        String fileName = "books." + format.getFileExtension();
+        log.info("Starting catalog export as {}", fileName);
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search books", description = "Case-insensitive substring search over title, author and ISBN, newest first")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search results retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<PageResponse<?>>>> searchBooks(
+            @Parameter(description = "Text to look for in the title, author or ISBN") @RequestParam String query,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            ServerWebExchange exchange){
+
+        Set<String> selected = BookFields.parse(fields);
+        String eTag = catalogETag();
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.empty();
+        }
+
+        return bookService.searchBooks(query, PageRequest.of(page, size)).map(results -> {
+            log.info("Search '{}' matched {} books, page {} of size {}", query, results.getTotalElements(), page, size);
+            return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(ok("Search completed successfully!", PageResponse.of(project(results, selected))));
+        });
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a book", description = "Retrieves a single book by its ID. " +
+            "The response carries an ETag; send it back in If-None-Match to get 304 Not Modified while the book is unchanged")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Book unchanged since the given ETag"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<BookDto>>> getBook(
+            @Parameter(description = "ID of the book") @PathVariable Long id,
+            ServerWebExchange exchange){
+
+        return bookService.getBook(id).flatMap(book -> {
+            String eTag = "\"" + book.getId() + "-v" + book.getVersion() + "\"";
+            if (exchange.checkNotModified(eTag)) {
+                return Mono.empty();
+            }
+            return Mono.just(ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(ok("Book delivered successfully!", book)));
+        });
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a book", description = "Updates an existing book's details")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book updated successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Book changed since the given version",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<BookDto>>> updateBook(
+            @Parameter(description = "ID of the book to update") @PathVariable Long id,
+            @Valid @RequestBody @Parameter(description = "Updated book details") BookDto request){
+
+        return bookService.updateBook(id, request).map(updatedBook -> {
+            log.info("Book updated successfully with ID: {}", id);
+            return ResponseEntity.status(HttpStatus.OK).body(ok("Book Updated Successfully", updatedBook));
+        });
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a book", description = "Changes only the fields present in the request and returns the updated book")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book updated successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Book changed since the given version",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<BookDto>>> patchBook(
+            @Parameter(description = "ID of the book to update") @PathVariable Long id,
+            @Valid @RequestBody @Parameter(description = "Fields to change") BookPatchDto request){
+
+        return bookService.patchBook(id, request).map(patchedBook -> {
+            log.info("Book patched successfully with ID: {}", id);
+            return ResponseEntity.status(HttpStatus.OK).body(ok("Book Updated Successfully", patchedBook));
+        });
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a book", description = "Removes a book from the library by its ID")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book deleted successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<Void>>> deleteBook(
+            @Parameter(description = "ID of the book to delete") @PathVariable Long id){
+
+        return bookService.deleteBook(id).then(Mono.fromSupplier(() -> {
+            log.info("Book deleted successfully with ID: {}", id);
+            return ResponseEntity.status(HttpStatus.OK).body(ok("Book Deleted Successfully", (Void) null));
+        }));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Delete books in bulk", description = "Removes every book whose ID is in the list and reports which IDs were not found")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books deleted; see deleted and missing IDs",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public Mono<ResponseEntity<ApiResponse<BulkDeleteResult>>> deleteBooks(
+            @RequestBody @Parameter(description = "IDs of the books to delete") List<Long> ids){
+
+        return bookService.deleteBooks(ids).map(result -> {
+            log.info("Bulk deleted {} books, {} not found", result.getDeleted().size(), result.getMissing().size());
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(ok(result.getDeleted().size() + " book(s) deleted successfully", result));
+        });
+    }
+
+    // List views change only when the catalog does, so one generation-based ETag serves them all;
+    // weak, because the bytes differ between the gzip and identity encodings
+    private String catalogETag() {
+        return "W/\"catalog-" + bookService.catalogGeneration() + "\"";
+    }
+
+    // The books as they are, or reduced to the fields the client asked for
+    private static Slice<?> project(Slice<BookDto> books, Set<String> fields) {
+        return fields == null ? books : books.map(book -> BookFields.select(book, fields));
+    }
+
+    private String toJsonLine(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private static <T> ApiResponse<T> ok(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
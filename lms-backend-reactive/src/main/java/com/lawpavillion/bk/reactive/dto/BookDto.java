@@ -0,0 +1,47 @@
+package com.lawpavillion.bk.reactive.dto;
+
+import com.lawpavillion.bk.reactive.validation.Isbn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+// Page queries project rows straight into this class through the all-args constructor, matched by parameter name
+@AllArgsConstructor
+@Schema(description = "Book Data Transfer Object")
+public class BookDto {
+
+    @Schema(description = "Unique identifier of the book", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @NotBlank(message = "Title cannot be blank")
+    @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
+    @Schema(description = "Title of the book", example = "Clean Code", required = true)
+    private String title;
+
+    @NotBlank(message = "Author cannot be blank")
+    @Size(min = 1, max = 255, message = "Author name must be between 1 and 255 characters")
+    @Schema(description = "Author of the book", example = "Robert C. Martin", required = true)
+    private String author;
+
+    @Isbn(message = "Invalid ISBN: must be an ISBN-10 or ISBN-13 with a correct check digit")
+    @Schema(description = "ISBN of the book", example = "978-0132350884")
+    private String isbn;
+
+    @PastOrPresent(message = "Published date cannot be in the future")
+    @Schema(description = "Publication date of the book", example = "2008-08-01")
+    private LocalDate publishedDate;
+
+    @Schema(description = "Revision of the book, incremented on every update. Send back the version you edited " +
+            "to have the update rejected with 409 Conflict if the book changed in the meantime", example = "0")
+    private Long version;
+}
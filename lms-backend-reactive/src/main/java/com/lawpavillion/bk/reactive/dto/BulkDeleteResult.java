@@ -0,0 +1,20 @@
+package com.lawpavillion.bk.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResult {
+
+    private List<Long> deleted;
+
+    // Requested ids that did not match any book
+    private List<Long> missing;
+}
@@ -0,0 +1,24 @@
+package com.lawpavillion.bk.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponse {
+    private String message;
+    private String error;
+
+    @JsonProperty("status_code")
+    private Integer statusCode;
+
+    // Current state of the resource, for errors the client can recover from (e.g. 409 Conflict)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Object data;
+}
@@ -0,0 +1,21 @@
+package com.lawpavillion.bk.reactive.exception;
+
+import com.lawpavillion.bk.reactive.dto.BookDto;
+
+/**
+ * An update was based on an older version of the book than the one stored.
+ * Carries the stored state so the client can reload it or re-apply its changes on top.
+ */
+public class BookConflictException extends RuntimeException {
+
+    private final BookDto current;
+
+    public BookConflictException(String message, BookDto current){
+        super(message);
+        this.current = current;
+    }
+
+    public BookDto getCurrent() {
+        return current;
+    }
+}
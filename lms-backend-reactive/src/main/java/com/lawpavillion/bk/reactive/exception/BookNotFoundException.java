@@ -0,0 +1,8 @@
+package com.lawpavillion.bk.reactive.exception;
+
+public class BookNotFoundException extends RuntimeException {
+
+    public BookNotFoundException(String message){
+        super(message);
+    }
+}
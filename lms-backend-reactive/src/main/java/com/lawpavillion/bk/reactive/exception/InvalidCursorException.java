@@ -0,0 +1,8 @@
+package com.lawpavillion.bk.reactive.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.lawpavillion.bk.reactive.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message){
+        super(message);
+    }
+}
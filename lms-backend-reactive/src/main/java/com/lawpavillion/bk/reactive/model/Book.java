@@ -0,0 +1,41 @@
+package com.lawpavillion.bk.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the book table (see schema.sql). Spring Data R2DBC has no persistence context:
+ * what is read is a plain object, and saving it writes the whole row.
+ */
+@Table("book")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Book {
+
+    @Id
+    private Long id;
+
+    private String title;
+    private String author;
+    private String isbn;
+    private LocalDate publishedDate;
+
+    // Starts at 0 on insert; every save is guarded by WHERE version = ? and increments it
+    @Version
+    private Long version;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
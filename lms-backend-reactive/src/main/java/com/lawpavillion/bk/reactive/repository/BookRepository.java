@@ -0,0 +1,55 @@
+package com.lawpavillion.bk.reactive.repository;
+
+import com.lawpavillion.bk.reactive.dto.BookDto;
+import com.lawpavillion.bk.reactive.model.Book;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface BookRepository extends ReactiveCrudRepository<Book, Long> {
+
+    // Offset page, newest first, projected straight into DTOs; only the DTO's columns are selected
+    @Query("SELECT id, title, author, isbn, published_date, version FROM book " +
+            "ORDER BY updated_at DESC, id DESC LIMIT :limit OFFSET :offset")
+    Flux<BookDto> findPage(long offset, int limit);
+
+    // Keyset pagination over (updatedAt, id), served by idx_book_updated_at_id in both directions.
+    // The redundant updated_at bound in the cursor queries lets the index seek to the cursor; the OR alone
+    // would make it scan every row on the near side of the cursor first.
+
+    @Query("SELECT * FROM book ORDER BY updated_at DESC, id DESC LIMIT :limit")
+    Flux<Book> findNewest(int limit);
+
+    @Query("SELECT * FROM book ORDER BY updated_at ASC, id ASC LIMIT :limit")
+    Flux<Book> findOldest(int limit);
+
+    @Query("SELECT * FROM book WHERE updated_at <= :updatedAt " +
+            "AND (updated_at < :updatedAt OR (updated_at = :updatedAt AND id < :id)) " +
+            "ORDER BY updated_at DESC, id DESC LIMIT :limit")
+    Flux<Book> findOlderThan(LocalDateTime updatedAt, Long id, int limit);
+
+    @Query("SELECT * FROM book WHERE updated_at >= :updatedAt " +
+            "AND (updated_at > :updatedAt OR (updated_at = :updatedAt AND id > :id)) " +
+            "ORDER BY updated_at ASC, id ASC LIMIT :limit")
+    Flux<Book> findNewerThan(LocalDateTime updatedAt, Long id, int limit);
+
+    // Substring match on title, author or ISBN; the blocking backend's Lucene index has no R2DBC counterpart here
+    @Query("SELECT * FROM book WHERE LOWER(title) LIKE :pattern OR LOWER(author) LIKE :pattern OR LOWER(isbn) LIKE :pattern " +
+            "ORDER BY updated_at DESC, id DESC LIMIT :limit OFFSET :offset")
+    Flux<Book> search(String pattern, long offset, int limit);
+
+    @Query("SELECT COUNT(*) FROM book WHERE LOWER(title) LIKE :pattern OR LOWER(author) LIKE :pattern OR LOWER(isbn) LIKE :pattern")
+    Mono<Long> countSearch(String pattern);
+
+    // Forward-only read of the whole catalog for export; rows are emitted as the driver produces them
+    @Query("SELECT * FROM book ORDER BY id")
+    Flux<Book> streamAll();
+
+    // One statement that deletes and returns the ids it removed: H2 reads the deleted rows back as a data change delta table
+    @Query("SELECT id FROM OLD TABLE (DELETE FROM book WHERE id IN (:ids))")
+    Flux<Long> deleteAllByIdInReturningIds(Collection<Long> ids);
+}
@@ -0,0 +1,47 @@
+package com.lawpavillion.bk.reactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.lawpavillion.bk.reactive.dto.BookDto;
+
+import java.io.UncheckedIOException;
+
+/**
+ * CSV layout of a book, one row per BookDto with a header line; the same columns as the blocking backend's export.
+ * Rows are rendered one at a time so an export can be emitted as a stream of lines.
+ */
+public final class BookCsv {
+
+    private static final CsvMapper MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("title")
+            .addColumn("author")
+            .addColumn("isbn")
+            .addColumn("publishedDate")
+            .addColumn("version", CsvSchema.ColumnType.NUMBER)
+            .build();
+
+    private static final ObjectWriter ROW_WRITER = MAPPER.writer(SCHEMA);
+
+    public static final String HEADER = String.join(",", "id", "title", "author", "isbn", "publishedDate", "version") + "\n";
+
+    private BookCsv() {
+    }
+
+    public static String row(BookDto book) {
+        try {
+            return ROW_WRITER.writeValueAsString(book);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to write book " + book.getId() + " as CSV", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.lawpavillion.bk.reactive.service;
+
+import com.lawpavillion.bk.reactive.dto.BookDto;
+import com.lawpavillion.bk.reactive.exception.InvalidFieldsException;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets for book lists: the fields= request parameter names the BookDto properties a client renders,
+ * and each book is written with only those. The id is always included so the client can still address the book.
+ */
+public final class BookFields {
+
+    public static final List<String> NAMES = List.of("id", "title", "author", "isbn", "publishedDate", "version");
+
+    private BookFields() {
+    }
+
+    /**
+     * Parses a comma-separated list of field names. Returns null, meaning every field, when the list is null or blank.
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String name : fields.split(",")) {
+            String field = name.strip();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!NAMES.contains(field)) {
+                throw new InvalidFieldsException("Unknown field '" + field + "'; expected any of " + NAMES);
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+
+    /**
+     * The selected fields of the book, in BookDto's property order.
+     */
+    public static Map<String, Object> select(BookDto book, Set<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : NAMES) {
+            if (fields.contains(field)) {
+                values.put(field, value(book, field));
+            }
+        }
+        return values;
+    }
+
+    private static Object value(BookDto book, String field) {
+        return switch (field) {
+            case "id" -> book.getId();
+            case "title" -> book.getTitle();
+            case "author" -> book.getAuthor();
+            case "isbn" -> book.getIsbn();
+            case "publishedDate" -> book.getPublishedDate();
+            case "version" -> book.getVersion();
+            default -> throw new IllegalArgumentException(field);
+        };
+    }
+}
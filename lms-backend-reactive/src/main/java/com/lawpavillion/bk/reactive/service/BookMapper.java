@@ -0,0 +1,38 @@
+package com.lawpavillion.bk.reactive.service;
+
+import com.lawpavillion.bk.reactive.dto.BookDto;
+import com.lawpavillion.bk.reactive.model.Book;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversions between the Book row and its DTO, shared by the service-layer read and write paths.
+ */
+final class BookMapper {
+
+    private BookMapper() {
+    }
+
+    static Book toEntity(BookDto request) {
+        LocalDateTime now = LocalDateTime.now();
+        return Book.builder()
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .isbn(request.getIsbn())
+                .publishedDate(request.getPublishedDate())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    static BookDto toDto(Book book) {
+        return BookDto.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .isbn(book.getIsbn())
+                .publishedDate(book.getPublishedDate())
+                .version(book.getVersion())
+                .build();
+    }
+}
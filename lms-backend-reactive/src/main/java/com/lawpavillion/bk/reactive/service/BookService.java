@@ -0,0 +1,66 @@
+package com.lawpavillion.bk.reactive.service;
+
+import com.lawpavillion.bk.reactive.dto.BookDto;
+import com.lawpavillion.bk.reactive.dto.BookPatchDto;
+import com.lawpavillion.bk.reactive.dto.BulkDeleteResult;
+import com.lawpavillion.bk.reactive.dto.CursorPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same operations as the blocking backend's BookService, returning publishers instead of values.
+ * Nothing here blocks: each call describes the work and the caller's subscription runs it.
+ */
+public interface BookService {
+
+    // Add Book
+    Mono<BookDto> addBook(BookDto request);
+
+    // Get Book
+    // one page of rows and the count run as two queries and are zipped together
+    Mono<Page<BookDto>> getAllBooks(Pageable pageable);
+
+    // Get Book by id
+    Mono<BookDto> getBook(Long id);
+
+    // Get Book slice
+    // like getAllBooks but reports only whether a next page exists, never the total
+    Mono<Slice<BookDto>> getBookSlice(Pageable pageable);
+
+    // Get Book by cursor
+    // keyset pagination on (updatedAt, id); a null cursor starts at the newest book, or at the oldest when fromEnd is set
+    Mono<CursorPage<BookDto>> getBooksByCursor(String cursor, int size, boolean fromEnd);
+
+    // Count books
+    Mono<Long> countBooks();
+
+    // Search books
+    // case-insensitive substring match on title, author and ISBN, newest first
+    Mono<Page<BookDto>> searchBooks(String query, Pageable pageable);
+
+    // Stream every book in id order, for export
+    Flux<BookDto> streamBooks();
+
+    // Update books
+    // when the request carries a version, a book changed since that version is a BookConflictException
+    Mono<BookDto> updateBook(Long id, BookDto request);
+
+    // Patch book
+    // only the non-null fields of the request are changed; versioned like updateBook
+    Mono<BookDto> patchBook(Long id, BookPatchDto request);
+
+    // Delete books
+    Mono<Void> deleteBook(Long id);
+
+    // Delete books in bulk
+    // one IN-list DELETE per chunk; reports which ids were deleted and which did not exist
+    Mono<BulkDeleteResult> deleteBooks(List<Long> ids);
+
+    // Changes on every write; list ETags are derived from it
+    long catalogGeneration();
+}
@@ -0,0 +1,264 @@
+package com.lawpavillion.bk.reactive.service;
+
+import com.lawpavillion.bk.reactive.dto.BookDto;
+import com.lawpavillion.bk.reactive.dto.BookPatchDto;
+import com.lawpavillion.bk.reactive.dto.BulkDeleteResult;
+import com.lawpavillion.bk.reactive.dto.CursorPage;
+import com.lawpavillion.bk.reactive.exception.BookConflictException;
+import com.lawpavillion.bk.reactive.exception.BookNotFoundException;
+import com.lawpavillion.bk.reactive.model.Book;
+import com.lawpavillion.bk.reactive.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookServiceImpl implements BookService {
+
+    private final BookRepository bookRepo;
+
+    // Seeded with the start time so ETags from before a restart are not mistaken for current ones
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+    @Value("${lms.batch.chunk-size}")
+    private int batchChunkSize;
+
+    @Override
+    public Mono<BookDto> addBook(BookDto request) {
+        log.info("Adding new book with title: {}", request.getTitle());
+        return bookRepo.save(BookMapper.toEntity(request))
+                .doOnNext(saved -> {
+                    generation.incrementAndGet();
+                    log.debug("Book saved successfully with ID: {}", saved.getId());
+                })
+                .map(BookMapper::toDto);
+    }
+
+    @Override
+    public Mono<Page<BookDto>> getAllBooks(Pageable pageable) {
+        log.info("Fetching all books with pagination - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
+        return Mono.zip(bookRepo.findPage(pageable.getOffset(), pageable.getPageSize()).collectList(), bookRepo.count())
+                .<Page<BookDto>>map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    @Override
+    public Mono<BookDto> getBook(Long id) {
+        log.info("Fetching book with ID: {}", id);
+        return findOrFail(id).map(BookMapper::toDto);
+    }
+
+    @Override
+    public Mono<Slice<BookDto>> getBookSlice(Pageable pageable) {
+        log.info("Fetching book slice - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
+        // Fetch one extra row to learn whether a next page exists instead of counting
+        return bookRepo.findPage(pageable.getOffset(), pageable.getPageSize() + 1)
+                .collectList()
+                .<Slice<BookDto>>map(rows -> {
+                    boolean hasNext = rows.size() > pageable.getPageSize();
+                    List<BookDto> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+                    return new SliceImpl<>(content, pageable, hasNext);
+                });
+    }
+
+    @Override
+    public Mono<CursorPage<BookDto>> getBooksByCursor(String cursor, int size, boolean fromEnd) {
+        log.info("Fetching books by cursor - Cursor: {}, Size: {}, From end: {}", cursor, size, fromEnd);
+
+        BookCursor position;
+        try {
+            position = cursor == null || cursor.isBlank() ? null : BookCursor.decode(cursor);
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+        boolean backwards = position == null ? fromEnd : position.direction() == BookCursor.Direction.BEFORE;
+
+        // Fetch one extra row to learn whether another page exists in the direction of travel
+        Flux<Book> rows;
+        if (position == null) {
+            rows = fromEnd ? bookRepo.findOldest(size + 1) : bookRepo.findNewest(size + 1);
+        } else if (backwards) {
+            rows = bookRepo.findNewerThan(position.updatedAt(), position.id(), size + 1);
+        } else {
+            rows = bookRepo.findOlderThan(position.updatedAt(), position.id(), size + 1);
+        }
+
+        return rows.collectList().map(fetched -> {
+            boolean hasMore = fetched.size() > size;
+            List<Book> books = new ArrayList<>(hasMore ? fetched.subList(0, size) : fetched);
+            if (backwards) {
+                // Backward queries walk the index in ascending order; flip to keep newest-first
+                Collections.reverse(books);
+            }
+
+            String nextCursor = null;
+            String prevCursor = null;
+            if (!books.isEmpty()) {
+                Book first = books.get(0);
+                Book last = books.get(books.size() - 1);
+                if (backwards) {
+                    prevCursor = hasMore ? BookCursor.before(first).encode() : null;
+                    nextCursor = position != null ? BookCursor.after(last).encode() : null;
+                } else {
+                    nextCursor = hasMore ? BookCursor.after(last).encode() : null;
+                    prevCursor = position != null ? BookCursor.before(first).encode() : null;
+                }
+            }
+
+            return CursorPage.<BookDto>builder()
+                    .content(books.stream().map(BookMapper::toDto).toList())
+                    .size(size)
+                    .nextCursor(nextCursor)
+                    .prevCursor(prevCursor)
+                    .build();
+        });
+    }
+
+    @Override
+    public Mono<Long> countBooks() {
+        return bookRepo.count();
+    }
+
+    @Override
+    public Mono<Page<BookDto>> searchBooks(String query, Pageable pageable) {
+        log.info("Searching books for '{}' - Page: {}, Size: {}", query, pageable.getPageNumber(), pageable.getPageSize());
+        String pattern = "%" + query.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return Mono.zip(
+                        bookRepo.search(pattern, pageable.getOffset(), pageable.getPageSize()).map(BookMapper::toDto).collectList(),
+                        bookRepo.countSearch(pattern))
+                .<Page<BookDto>>map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    @Override
+    public Flux<BookDto> streamBooks() {
+        log.info("Streaming catalog");
+        return bookRepo.streamAll().map(BookMapper::toDto);
+    }
+
+    @Override
+    public Mono<BookDto> updateBook(Long id, BookDto request) {
+        log.info("Updating book with ID: {}", id);
+        return edit(id, request.getVersion(), book -> {
+            book.setTitle(request.getTitle());
+            book.setAuthor(request.getAuthor());
+            book.setIsbn(request.getIsbn());
+            book.setPublishedDate(request.getPublishedDate());
+            return true;
+        });
+    }
+
+    @Override
+    public Mono<BookDto> patchBook(Long id, BookPatchDto request) {
+        log.info("Patching book with ID: {}", id);
+        return edit(id, request.getVersion(), book -> {
+            boolean changed = false;
+            if (request.getTitle() != null) { book.setTitle(request.getTitle()); changed = true; }
+            if (request.getAuthor() != null) { book.setAuthor(request.getAuthor()); changed = true; }
+            if (request.getIsbn() != null) { book.setIsbn(request.getIsbn()); changed = true; }
+            if (request.getPublishedDate() != null) { book.setPublishedDate(request.getPublishedDate()); changed = true; }
+            return changed;
+        });
+    }
+
+    /**
+     * Loads the book, checks the version the client edited, applies the changes and saves the whole row.
+     * The save is guarded by WHERE version = ?, so a concurrent save between our read and write is
+     * reported as a conflict rather than overwritten.
+     */
+    private Mono<BookDto> edit(Long id, Long expectedVersion, Predicate<Book> changes) {
+        return findOrFail(id)
+                .flatMap(book -> {
+                    if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+                        return Mono.error(conflict(book, expectedVersion));
+                    }
+                    if (!changes.test(book)) {
+                        return Mono.just(book);
+                    }
+                    book.setUpdatedAt(LocalDateTime.now());
+                    return bookRepo.save(book).doOnNext(saved -> generation.incrementAndGet());
+                })
+                .onErrorResume(OptimisticLockingFailureException.class, e -> findOrFail(id)
+                        .flatMap(current -> Mono.error(conflict(current, expectedVersion))))
+                .map(BookMapper::toDto)
+                .doOnNext(book -> log.debug("Book updated successfully with ID: {}", id));
+    }
+
+    private static BookConflictException conflict(Book current, Long expectedVersion) {
+        String message = "Book " + current.getId() + " was changed by someone else: "
+                + (expectedVersion != null ? "expected version " + expectedVersion + " but it" : "it")
+                + " is at version " + current.getVersion();
+        return new BookConflictException(message, BookMapper.toDto(current));
+    }
+
+    @Override
+    public Mono<Void> deleteBook(Long id) {
+        log.info("Deleting book with ID: {}", id);
+        return findOrFail(id)
+                .flatMap(bookRepo::delete)
+                .doOnSuccess(done -> {
+                    generation.incrementAndGet();
+                    log.debug("Book deleted successfully with ID: {}", id);
+                });
+    }
+
+    @Override
+    @Transactional
+    public Mono<BulkDeleteResult> deleteBooks(List<Long> ids) {
+        log.info("Deleting {} books in bulk", ids.size());
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        requested.removeIf(Objects::isNull);
+
+        // Chunks run one after another, each as one DELETE that returns the ids it removed
+        return Flux.fromIterable(requested)
+                .buffer(batchChunkSize)
+                .concatMap(bookRepo::deleteAllByIdInReturningIds)
+                .collectList()
+                .map(deleted -> {
+                    if (!deleted.isEmpty()) {
+                        generation.incrementAndGet();
+                    }
+                    List<Long> missing = new ArrayList<>(requested);
+                    missing.removeAll(new LinkedHashSet<>(deleted));
+                    log.info("Bulk delete finished: {} deleted, {} not found", deleted.size(), missing.size());
+                    return BulkDeleteResult.builder()
+                            .deleted(deleted)
+                            .missing(missing)
+                            .build();
+                });
+    }
+
+    @Override
+    public long catalogGeneration() {
+        return generation.get();
+    }
+
+    private Mono<Book> findOrFail(Long id) {
+        return bookRepo.findById(id)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error("Book not found with ID: {}", id);
+                    return Mono.error(new BookNotFoundException("Book Not Found with ID: " + id));
+                }));
+    }
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS book (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title          VARCHAR(255) NOT NULL,
+    author         VARCHAR(255) NOT NULL,
+    isbn           VARCHAR(255),
+    published_date DATE,
+    version        BIGINT NOT NULL,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_updated_at_id ON book (updated_at DESC, id DESC);
@@ -0,0 +1,13 @@
+package com.lawpavillion.bk.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class LmsReactiveApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
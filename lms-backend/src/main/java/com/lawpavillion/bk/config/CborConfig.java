@@ -0,0 +1,21 @@
+package com.lawpavillion.bk.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * Serves and accepts application/cbor alongside JSON. Clients that send Accept: application/cbor get the same
+ * documents in binary form, and request bodies may be sent as CBOR with the matching Content-Type.
+ */
+@Configuration
+public class CborConfig {
+
+    // Built from Spring Boot's Jackson builder so CBOR carries the same property names and date formats as JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -20,7 +20,7 @@ public class CorsConfig {
         config.setAllowedOriginPatterns(Arrays.asList("*"));
         
         // Allow all HTTP methods
-        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         
         // Allow all headers
         config.setAllowedHeaders(Arrays.asList("*"));
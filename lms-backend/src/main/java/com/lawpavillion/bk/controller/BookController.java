@@ -1,8 +1,23 @@
 package com.lawpavillion.bk.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lawpavillion.bk.dto.ApiResponse;
+import com.lawpavillion.bk.dto.BatchResult;
 import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.BookPatchDto;
+import com.lawpavillion.bk.dto.BulkDeleteResult;
+import com.lawpavillion.bk.dto.CacheStats;
+import com.lawpavillion.bk.dto.CursorPage;
+import com.lawpavillion.bk.dto.ImportJobStatus;
+import com.lawpavillion.bk.dto.PageResponse;
+import com.lawpavillion.bk.importer.BookImportService;
+import com.lawpavillion.bk.service.BookCacheService;
+import com.lawpavillion.bk.service.BookExportService;
+import com.lawpavillion.bk.service.BookFields;
+import com.lawpavillion.bk.service.BookPageCache;
 import com.lawpavillion.bk.service.BookService;
+import com.lawpavillion.bk.service.CatalogFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,12 +30,25 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
@@ -29,7 +57,16 @@ import java.time.LocalDateTime;
 @Slf4j
 public class BookController {
 
+    private static final String FIELDS_DESCRIPTION = "Comma-separated book fields to return, e.g. title,author; " +
+            "id is always included. Omit for all fields";
+
     private final BookService bookService;
+    private final BookExportService exportService;
+    private final BookImportService importService;
+    private final BookCacheService cacheService;
+    private final BookPageCache pageCache;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
 
     @PostMapping
     @Operation(summary = "Add a new book", description = "Creates a new book record in the library")
@@ -37,6 +74,8 @@ public class BookController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Book created successfully",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Another book already has this ISBN",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class)))
     })
     public ResponseEntity<ApiResponse<BookDto>> addBooks(
@@ -55,31 +94,374 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Add books in bulk", description = "Validates and inserts an array of books in chunked, batched transactions. " +
+            "Invalid items are skipped and reported individually")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch processed; see per-item results",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BatchResult>> addBooksInBulk(
+            @RequestBody @Parameter(description = "Books to add") List<BookDto> requests){
+
+        BatchResult result = bookService.addBooks(requests);
+
+        ApiResponse<BatchResult> response = ApiResponse.<BatchResult>builder()
+                .success(result.getFailed() == 0)
+                .message(result.getSucceeded() + " of " + result.getTotal() + " books added")
+                .data(result)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("Bulk add processed {} books, {} failed", result.getTotal(), result.getFailed());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieves a paginated list of all books in the library")
+    @Operation(summary = "Get all books", description = "Retrieves a paginated list of all books in the library, " +
+            "as JSON or, when the Accept header prefers it, CBOR")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<byte[]> getAllBooks(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest){
+
+        Set<String> selected = BookFields.parse(fields);
+        MediaType mediaType = negotiate(accept);
+        String eTag = catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
+
+        Supplier<byte[]> render = () -> {
+            Page<BookDto> bookDtoPage = bookService.getAllBooks(pageable);
+
+            ApiResponse<PageResponse<?>> response = ApiResponse.<PageResponse<?>>builder()
+                    .success(true)
+                    .message("All books delivered successfully!")
+                    .data(PageResponse.of(project(bookDtoPage, selected)))
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            log.info("Retrieved {} books, page {} of size {}", bookDtoPage.getTotalElements(), page, size);
+            return serialize(response, mediaType);
+        };
+
+        // Hot pages are served as the bytes rendered on the first request after the last write;
+        // sparse fieldsets are rendered on every request
+        byte[] body = selected == null ? pageCache.get(pageable, mediaType, render) : render.get();
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).varyBy(HttpHeaders.ACCEPT).contentType(mediaType).body(body);
+    }
+
+    @GetMapping("/slice")
+    @Operation(summary = "Get a slice of books", description = "Retrieves a page of books without computing the total count; " +
+            "the response only reports whether a next page exists")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class)))
     })
-    public ResponseEntity<ApiResponse<Page<BookDto>>> getAllBooks(
+    public ResponseEntity<ApiResponse<PageResponse<?>>> getBookSlice(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size){
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest webRequest){
+
+        Set<String> selected = BookFields.parse(fields);
+        String eTag = catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
 
-        Page<BookDto> bookDtoPage = bookService.getAllBooks(pageable);
+        Slice<BookDto> bookSlice = bookService.getBookSlice(pageable);
+
+        ApiResponse<PageResponse<?>> response = ApiResponse.<PageResponse<?>>builder()
+                .success(true)
+                .message("All books delivered successfully!")
+                .data(PageResponse.of(project(bookSlice, selected)))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("Retrieved {} books, page {} of size {}, has next: {}", bookSlice.getNumberOfElements(), page, size, bookSlice.hasNext());
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(response);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get books by cursor", description = "Retrieves books newest-first using keyset pagination on (updatedAt, id). " +
+            "Pass the nextCursor or prevCursor from a previous response to move between pages")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<CursorPage<?>>> getBooksByCursor(
+            @Parameter(description = "Opaque cursor from a previous response; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Start from the oldest books instead of the newest when no cursor is given") @RequestParam(defaultValue = "false") boolean fromEnd,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest webRequest){
+
+        Set<String> selected = BookFields.parse(fields);
+        String eTag = catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        CursorPage<BookDto> bookPage = bookService.getBooksByCursor(cursor, size, fromEnd);
 
-        ApiResponse<Page<BookDto>> response = ApiResponse.<Page<BookDto>>builder()
+        ApiResponse<CursorPage<?>> response = ApiResponse.<CursorPage<?>>builder()
                 .success(true)
                 .message("All books delivered successfully!")
-                .data(bookDtoPage)
+                .data(selected == null ? bookPage : bookPage.map(book -> BookFields.select(book, selected)))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("Retrieved {} books by cursor of size {}", bookPage.getContent().size(), size);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(response);
+    }
+
+    @GetMapping("/count")
+    @Operation(summary = "Count books", description = "Returns the total number of books in the library")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Count retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<Long>> countBooks(WebRequest webRequest){
+
+        String eTag = catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        ApiResponse<Long> response = ApiResponse.<Long>builder()
+                .success(true)
+                .message("Book count delivered successfully!")
+                .data(bookService.countBooks())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(response);
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get cache statistics", description = "Hit and miss counts of the second-level entity cache and query cache for books")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<CacheStats>> getCacheStats(){
+
+        ApiResponse<CacheStats> response = ApiResponse.<CacheStats>builder()
+                .success(true)
+                .message("Cache statistics delivered successfully!")
+                .data(cacheService.getStats())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @DeleteMapping("/cache")
+    @Operation(summary = "Evict cached books", description = "Clears cached books and list queries, e.g. after the database was changed outside the application")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Cache cleared successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<Void>> evictCache(){
+
+        cacheService.evictAll();
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .success(true)
+                .message("Cache cleared successfully")
+                .data(null)
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        log.info("Retrieved {} books, page {} of size {}", bookDtoPage.getTotalElements(), page, size);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export all books", description = "Streams the whole catalog as NDJSON or CSV, optionally gzip-compressed. " +
+            "Rows are written as they are read, so the export does not buffer the catalog in memory")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Catalog export stream")
+    })
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @Parameter(description = "Output format: NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") CatalogFormat format,
+            @Parameter(description = "Compress the stream with gzip") @RequestParam(defaultValue = "false") boolean gzip){
+
+        String fileName = "books." + format.getFileExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    exportService.export(format, gzipOut);
+                }
+            } else {
+                exportService.export(format, out);
+            }
+        };
+
+        log.info("Starting catalog export as {}", fileName);
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import books", description = "Uploads a CSV (with header row) or NDJSON file of books. " +
+            "The file is processed in the background in chunked, batched transactions; poll the returned job for progress")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Import job accepted",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "415", description = "Unsupported file type")
+    })
+    public ResponseEntity<ApiResponse<ImportJobStatus>> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(description = "Rows per transaction (defaults to lms.import.chunk-size)") @RequestParam(required = false) Integer chunkSize,
+            InputStream body){
+
+        ImportJobStatus status = importService.startImport(CatalogFormat.fromContentType(contentType), body, chunkSize);
+
+        ApiResponse<ImportJobStatus> response = ApiResponse.<ImportJobStatus>builder()
+                .success(true)
+                .message("Import job accepted")
+                .data(status)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("Accepted import job {}", status.getJobId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get import job status", description = "Reports progress and the first rejected rows of an import job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import job status retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Import job not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<ImportJobStatus>> getImportStatus(
+            @Parameter(description = "ID of the import job") @PathVariable String jobId){
+
+        ApiResponse<ImportJobStatus> response = ApiResponse.<ImportJobStatus>builder()
+                .success(true)
+                .message("Import job status delivered successfully!")
+                .data(importService.getStatus(jobId))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search books", description = "Full-text search over title, author and ISBN, ordered by relevance")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search results retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<PageResponse<?>>> searchBooks(
+            @Parameter(description = "Words from the title or author, or an ISBN (prefix)") @RequestParam String query,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest webRequest){
+
+        Set<String> selected = BookFields.parse(fields);
+        String eTag = catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        Page<BookDto> results = bookService.searchBooks(query, PageRequest.of(page, size));
+
+        ApiResponse<PageResponse<?>> response = ApiResponse.<PageResponse<?>>builder()
+                .success(true)
+                .message("Search completed successfully!")
+                .data(PageResponse.of(project(results, selected)))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("Search '{}' matched {} books, page {} of size {}", query, results.getTotalElements(), page, size);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a book", description = "Retrieves a single book by its ID. " +
+            "The response carries an ETag; send it back in If-None-Match to get 304 Not Modified while the book is unchanged")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Book unchanged since the given ETag"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BookDto>> getBook(
+            @Parameter(description = "ID of the book") @PathVariable Long id,
+            WebRequest webRequest){
+
+        BookDto book = bookService.getBook(id);
+
+        String eTag = "\"" + book.getId() + "-v" + book.getVersion() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        ApiResponse<BookDto> response = ApiResponse.<BookDto>builder()
+                .success(true)
+                .message("Book delivered successfully!")
+                .data(book)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(response);
+    }
+
+    @GetMapping("/isbn/{isbn}")
+    @Operation(summary = "Get a book by ISBN", description = "Looks a book up by ISBN-10 or ISBN-13, with or without hyphens, " +
+            "through the unique ISBN index. Carries the same ETag as GET /api/books/{id}")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Book unchanged since the given ETag"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Not an ISBN",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No book with this ISBN",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BookDto>> getBookByIsbn(
+            @Parameter(description = "ISBN of the book, e.g. 978-0132350884 or 0132350882") @PathVariable String isbn,
+            WebRequest webRequest){
+
+        BookDto book = bookService.getBookByIsbn(isbn);
+
+        String eTag = "\"" + book.getId() + "-v" + book.getVersion() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        ApiResponse<BookDto> response = ApiResponse.<BookDto>builder()
+                .success(true)
+                .message("Book delivered successfully!")
+                .data(book)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a book", description = "Updates an existing book's details")
     @ApiResponses(value = {
@@ -107,6 +489,33 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a book", description = "Loads the book, changes only the fields present in the request and returns the updated book")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book updated successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BookDto>> patchBook(
+            @Parameter(description = "ID of the book to update") @PathVariable Long id,
+            @Valid @RequestBody @Parameter(description = "Fields to change") BookPatchDto request){
+
+        BookDto patchedBook = bookService.patchBook(id, request);
+
+        ApiResponse<BookDto> response = ApiResponse.<BookDto>builder()
+                .success(true)
+                .message("Book Updated Successfully")
+                .data(patchedBook)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("Book patched successfully with ID: {}", id);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a book", description = "Removes a book from the library by its ID")
     @ApiResponses(value = {
@@ -130,4 +539,66 @@ public class BookController {
         log.info("Book deleted successfully with ID: {}", id);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
+
+    @DeleteMapping
+    @Operation(summary = "Delete books in bulk", description = "Removes every book whose ID is in the list and reports which IDs were not found")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books deleted; see deleted and missing IDs",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteBooks(
+            @RequestBody @Parameter(description = "IDs of the books to delete") List<Long> ids){
+
+        BulkDeleteResult result = bookService.deleteBooks(ids);
+
+        ApiResponse<BulkDeleteResult> response = ApiResponse.<BulkDeleteResult>builder()
+                .success(true)
+                .message(result.getDeleted().size() + " book(s) deleted successfully")
+                .data(result)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("Bulk deleted {} books, {} not found", result.getDeleted().size(), result.getMissing().size());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    // List views change only when the catalog does, so one generation-based ETag serves them all;
+    // clients compare it per URL, which keeps it specific to the page, cursor or query requested.
+    // Weak, because the bytes differ between the gzip and identity encodings; Tomcat does not compress strong-ETag responses
+    private String catalogETag() {
+        return "W/\"catalog-" + pageCache.generation() + "\"";
+    }
+
+    // The books as they are, or reduced to the fields the client asked for
+    private static Slice<?> project(Slice<BookDto> books, Set<String> fields) {
+        return fields == null ? books : books.map(book -> BookFields.select(book, fields));
+    }
+
+    // The rendered page bypasses the message converters, so the Accept header is matched here:
+    // CBOR when the client ranks it above JSON, JSON otherwise
+    private static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.isConcrete() && type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private byte[] serialize(Object value, MediaType mediaType) {
+        ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(mediaType) ? cborConverter.getObjectMapper() : objectMapper;
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.lawpavillion.bk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    // Position of the item in the submitted array
+    private int index;
+    private boolean success;
+    private Long id;
+
+    // Field name to message, as in validation error responses
+    private Map<String, String> errors;
+}
@@ -0,0 +1,20 @@
+package com.lawpavillion.bk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> items;
+}
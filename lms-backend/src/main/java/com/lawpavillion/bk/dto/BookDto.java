@@ -1,10 +1,11 @@
 package com.lawpavillion.bk.dto;
 
+import com.lawpavillion.bk.validation.Isbn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PastOrPresent;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +15,8 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Builder
+// The all-args constructor is the target of the repository's JPQL constructor expressions; keep the field order in step
+@AllArgsConstructor
 @Schema(description = "Book Data Transfer Object")
 public class BookDto {
 
@@ -30,12 +33,15 @@ public class BookDto {
     @Schema(description = "Author of the book", example = "Robert C. Martin", required = true)
     private String author;
 
-    @Pattern(regexp = "^(?:ISBN(?:-1[03])?:? )?(?=[0-9X]{10}$|(?=(?:[0-9]+[- ]){3})[- 0-9X]{13}$|97[89][0-9]{10}$|(?=(?:[0-9]+[- ]){4})[- 0-9]{17}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9X]$",
-            message = "Invalid ISBN format")
+    @Isbn(message = "Invalid ISBN: must be an ISBN-10 or ISBN-13 with a correct check digit")
     @Schema(description = "ISBN of the book", example = "978-0132350884")
     private String isbn;
 
     @PastOrPresent(message = "Published date cannot be in the future")
     @Schema(description = "Publication date of the book", example = "2008-08-01")
     private LocalDate publishedDate;
+
+    @Schema(description = "Revision of the book, incremented on every update. Send back the version you edited " +
+            "to have the update rejected with 409 Conflict if the book changed in the meantime", example = "0")
+    private Long version;
 }
@@ -0,0 +1,40 @@
+package com.lawpavillion.bk.dto;
+
+import com.lawpavillion.bk.validation.Isbn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@Schema(description = "Partial book update; only the fields present are changed")
+public class BookPatchDto {
+
+    @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
+    @Pattern(regexp = ".*\\S.*", message = "Title cannot be blank")
+    @Schema(description = "New title of the book", example = "Clean Code")
+    private String title;
+
+    @Size(min = 1, max = 255, message = "Author name must be between 1 and 255 characters")
+    @Pattern(regexp = ".*\\S.*", message = "Author cannot be blank")
+    @Schema(description = "New author of the book", example = "Robert C. Martin")
+    private String author;
+
+    @Isbn(message = "Invalid ISBN: must be an ISBN-10 or ISBN-13 with a correct check digit")
+    @Schema(description = "New ISBN of the book", example = "978-0132350884")
+    private String isbn;
+
+    @PastOrPresent(message = "Published date cannot be in the future")
+    @Schema(description = "New publication date of the book", example = "2008-08-01")
+    private LocalDate publishedDate;
+
+    @Schema(description = "Version of the book the changes were made against; a newer stored version is reported as 409 Conflict", example = "0")
+    private Long version;
+}
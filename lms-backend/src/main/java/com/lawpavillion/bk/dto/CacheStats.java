@@ -0,0 +1,34 @@
+package com.lawpavillion.bk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStats {
+
+    private boolean enabled;
+
+    // Book entity lookups answered by the second-level cache
+    private long entityHits;
+    private long entityMisses;
+    private long entityPuts;
+    private double entityHitRatio;
+
+    // List queries answered by the query cache
+    private long queryHits;
+    private long queryMisses;
+    private long queryPuts;
+    private double queryHitRatio;
+
+    // JDBC statements prepared since the statistics were started, for comparing against the hit counts
+    private long statementsExecuted;
+
+    private LocalDateTime since;
+}
@@ -0,0 +1,31 @@
+package com.lawpavillion.bk.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A page of results addressed by opaque cursors instead of page numbers")
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+
+    @Schema(description = "Cursor for the following (older) page, null on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Cursor for the preceding (newer) page, null on the first page")
+    private String prevCursor;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, nextCursor, prevCursor);
+    }
+}
@@ -1,5 +1,6 @@
 package com.lawpavillion.bk.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,4 +17,8 @@ public class ErrorResponse {
 
     @JsonProperty("status_code")
     private Integer statusCode;
+
+    // Current state of the resource, for errors the client can recover from (e.g. 409 Conflict)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Object data;
 }
@@ -0,0 +1,43 @@
+package com.lawpavillion.bk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobStatus {
+
+    private String jobId;
+    private String state;
+    private String format;
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String failureReason;
+
+    // The first rejected rows, capped by lms.import.max-reported-errors
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        // 1-based line in the uploaded file
+        private long line;
+        private Map<String, String> errors;
+    }
+}
@@ -0,0 +1,50 @@
+package com.lawpavillion.bk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A page of results with only the paging fields clients use")
+public class PageResponse<T> {
+
+    private List<T> content;
+
+    @Schema(description = "Page number (0-indexed)")
+    private int page;
+
+    @Schema(description = "Requested page size")
+    private int size;
+
+    private boolean hasNext;
+
+    @Schema(description = "Total number of results, omitted by endpoints that do not count them")
+    private Long totalElements;
+
+    @Schema(description = "Total number of pages, omitted by endpoints that do not count them")
+    private Integer totalPages;
+
+    // Totals are filled in only for a Page; a plain Slice never counted them
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        PageResponseBuilder<T> builder = PageResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext());
+        if (slice instanceof Page<T> page) {
+            builder.totalElements(page.getTotalElements()).totalPages(page.getTotalPages());
+        }
+        return builder.build();
+    }
+}
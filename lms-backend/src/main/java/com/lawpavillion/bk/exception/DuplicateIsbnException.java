@@ -0,0 +1,21 @@
+package com.lawpavillion.bk.exception;
+
+import com.lawpavillion.bk.dto.BookDto;
+
+/**
+ * A write would store an ISBN that another book already has, however either was hyphenated.
+ * Carries the book that holds the ISBN.
+ */
+public class DuplicateIsbnException extends RuntimeException {
+
+    private final BookDto existing;
+
+    public DuplicateIsbnException(String message, BookDto existing){
+        super(message);
+        this.existing = existing;
+    }
+
+    public BookDto getExisting() {
+        return existing;
+    }
+}
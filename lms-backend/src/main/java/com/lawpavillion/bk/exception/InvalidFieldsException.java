@@ -0,0 +1,8 @@
+package com.lawpavillion.bk.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.lawpavillion.bk.exception;
+
+public class InvalidIsbnException extends RuntimeException {
+
+    public InvalidIsbnException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,137 @@
+package com.lawpavillion.bk.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.lawpavillion.bk.dto.BatchItemResult;
+import com.lawpavillion.bk.dto.BatchResult;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.service.BookCsv;
+import com.lawpavillion.bk.service.BookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Works through a spooled upload row by row, holding at most one chunk of records in memory.
+ * Each full chunk goes through BookService.addBooks, which validates it and inserts it in batched transactions.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class BookImportRunner {
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+
+    @Async
+    public void run(ImportJob job, Path file, int chunkSize) {
+        log.info("Import job {} started ({})", job.getId(), job.getFormat());
+        job.start();
+        ChunkWriter chunk = new ChunkWriter(job, chunkSize);
+        try {
+            switch (job.getFormat()) {
+                case NDJSON -> readNdjson(file, job, chunk);
+                case CSV -> readCsv(file, job, chunk);
+            }
+            chunk.flush();
+            job.complete();
+            log.info("Import job {} finished: {} rows read, {} imported, {} failed",
+                    job.getId(), job.getRowsRead().get(), job.getImported().get(), job.getFailed().get());
+        } catch (Exception e) {
+            log.error("Import job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool file {}", file, e);
+            }
+        }
+    }
+
+    private void readNdjson(Path file, ImportJob job, ChunkWriter chunk) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long line = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                job.rowRead();
+                try {
+                    chunk.add(objectMapper.readValue(text, BookDto.class), line);
+                } catch (JsonProcessingException e) {
+                    job.rowFailed(line, Map.of("row", "Malformed JSON: " + e.getOriginalMessage()));
+                }
+            }
+        }
+    }
+
+    private void readCsv(Path file, ImportJob job, ChunkWriter chunk) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             MappingIterator<BookDto> rows = BookCsv.MAPPER.readerFor(BookDto.class)
+                     .with(BookCsv.READ_SCHEMA)
+                     .readValues(reader)) {
+            while (rows.hasNextValue()) {
+                job.rowRead();
+                long line = rows.getCurrentLocation().getLineNr();
+                try {
+                    chunk.add(rows.nextValue(), line);
+                } catch (RuntimeJsonMappingException | JsonProcessingException e) {
+                    job.rowFailed(line, Map.of("row", "Malformed CSV row: " + e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private class ChunkWriter {
+
+        private final ImportJob job;
+        private final int chunkSize;
+        private final List<BookDto> books;
+        private final List<Long> lines;
+
+        ChunkWriter(ImportJob job, int chunkSize) {
+            this.job = job;
+            this.chunkSize = chunkSize;
+            this.books = new ArrayList<>(chunkSize);
+            this.lines = new ArrayList<>(chunkSize);
+        }
+
+        void add(BookDto book, long line) {
+            books.add(book);
+            lines.add(line);
+            if (books.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (books.isEmpty()) {
+                return;
+            }
+            BatchResult result = bookService.addBooks(books);
+            job.rowsImported(result.getSucceeded());
+            for (BatchItemResult item : result.getItems()) {
+                if (!item.isSuccess()) {
+                    job.rowFailed(lines.get(item.getIndex()), item.getErrors());
+                }
+            }
+            books.clear();
+            lines.clear();
+        }
+    }
+}
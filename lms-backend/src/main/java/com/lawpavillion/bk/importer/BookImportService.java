@@ -0,0 +1,88 @@
+package com.lawpavillion.bk.importer;
+
+import com.lawpavillion.bk.dto.ImportJobStatus;
+import com.lawpavillion.bk.exception.ImportJobNotFoundException;
+import com.lawpavillion.bk.service.CatalogFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accepts catalog uploads and tracks the resulting import jobs.
+ * The upload is streamed to a temporary file so the request completes quickly and
+ * the rows can be processed in the background without holding the body in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportService {
+
+    private final BookImportRunner runner;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${lms.import.chunk-size}")
+    private int defaultChunkSize;
+
+    @Value("${lms.import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    @Value("${lms.import.job-retention}")
+    private Duration jobRetention;
+
+    public ImportJobStatus startImport(CatalogFormat format, InputStream body, Integer chunkSize) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxReportedErrors);
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("book-import-" + job.getId(), "." + format.getFileExtension());
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(spool);
+            throw new UncheckedIOException("Failed to receive import upload", e);
+        }
+
+        jobs.put(job.getId(), job);
+        log.info("Queued import job {} ({} bytes of {})", job.getId(), spool.toFile().length(), format);
+        runner.run(job, spool, chunkSize != null && chunkSize > 0 ? chunkSize : defaultChunkSize);
+        return job.toStatus();
+    }
+
+    public ImportJobStatus getStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import job not found with ID: " + jobId);
+        }
+        return job.toStatus();
+    }
+
+    // Sweeps often so a finished job outlives job-retention by at most one sweep interval
+    @Scheduled(fixedDelayString = "${lms.import.job-sweep-interval}", initialDelayString = "${lms.import.job-sweep-interval}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}", file, e);
+        }
+    }
+}
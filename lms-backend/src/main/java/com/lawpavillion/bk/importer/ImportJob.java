@@ -0,0 +1,110 @@
+package com.lawpavillion.bk.importer;
+
+import com.lawpavillion.bk.dto.ImportJobStatus;
+import com.lawpavillion.bk.service.CatalogFormat;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Progress of one import. Written by the worker thread and read by status requests, hence the atomics.
+ */
+@Getter
+class ImportJob {
+
+    enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final CatalogFormat format;
+    private final int maxReportedErrors;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ImportJobStatus.RowError> errors = new ArrayList<>();
+    // A lock rather than synchronized, which would pin the carrier thread when the job runs on a virtual thread
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock errorsLock = new ReentrantLock();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failureReason;
+
+    ImportJob(String id, CatalogFormat format, int maxReportedErrors) {
+        this.id = id;
+        this.format = format;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String reason) {
+        failureReason = reason;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowsImported(long count) {
+        imported.addAndGet(count);
+    }
+
+    void rowFailed(long line, Map<String, String> rowErrors) {
+        failed.incrementAndGet();
+        errorsLock.lock();
+        try {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ImportJobStatus.RowError.builder().line(line).errors(rowErrors).build());
+            }
+        } finally {
+            errorsLock.unlock();
+        }
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    ImportJobStatus toStatus() {
+        List<ImportJobStatus.RowError> reportedErrors;
+        errorsLock.lock();
+        try {
+            reportedErrors = errors.stream()
+                    .sorted(Comparator.comparingLong(ImportJobStatus.RowError::getLine))
+                    .toList();
+        } finally {
+            errorsLock.unlock();
+        }
+        return ImportJobStatus.builder()
+                .jobId(id)
+                .state(state.name())
+                .format(format.name())
+                .rowsRead(rowsRead.get())
+                .imported(imported.get())
+                .failed(failed.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .failureReason(failureReason)
+                .errors(reportedErrors)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.lawpavillion.bk.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between start() and stop().
+ * Statements on threads that never called start(), such as background imports, are not counted.
+ * startRecording() and stopRecording() keep the statements' text instead, for the query-plan tests.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+    private final ThreadLocal<List<String>> recorded = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        List<String> statements = recorded.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * Returns the number of statements since start() and stops counting on this thread.
+     */
+    public int stop() {
+        int[] current = count.get();
+        count.remove();
+        return current == null ? 0 : current[0];
+    }
+
+    public void startRecording() {
+        recorded.set(new ArrayList<>());
+    }
+
+    /**
+     * Returns the SQL of the statements since startRecording(), in order, and stops recording on this thread.
+     */
+    public List<String> stopRecording() {
+        List<String> statements = recorded.get();
+        recorded.remove();
+        return statements == null ? List.of() : statements;
+    }
+}
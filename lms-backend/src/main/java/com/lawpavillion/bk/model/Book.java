@@ -1,18 +1,37 @@
 package com.lawpavillion.bk.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+// The schema, these indexes included, is created by the Flyway migrations in db/migration; keep the two in step
+@Table(indexes = {
+        @Index(name = "idx_book_updated_at_id", columnList = "updated_at DESC, id DESC"),
+        // One book per ISBN, however it was written; also serves lookups by ISBN. Books without an ISBN are not constrained
+        @Index(name = "uk_book_isbn13", columnList = "isbn13", unique = true)
+})
+// Read-mostly: kept in the second-level cache when lms.cache.enabled. Being versioned, updates refresh the
+// cached entry in place, and each UPDATE only writes the changed columns.
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Getter
 @Setter
 @AllArgsConstructor
@@ -20,8 +39,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Book {
 
+    // Pooled sequence: one round-trip reserves 50 ids, so batched inserts do not pay a sequence call per row
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long Id;
 
     @NotEmpty(message = "title cannot be null")
@@ -34,9 +55,30 @@ public class Book {
 
 
     private String isbn;
+
+    // Canonical ISBN-13 of isbn (see Isbn), kept in step by setIsbn and on insert; null when isbn is missing or malformed
+    @Setter(AccessLevel.NONE)
+    @Column(length = 13)
+    private String isbn13;
+
     private LocalDate publishedDate;
 
+    // Incremented on every update; the book's ETag is derived from it
+    @Version
+    private Long version;
+
     @CreationTimestamp
     public LocalDateTime createdAt;
     public LocalDateTime updatedAt;
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+        this.isbn13 = Isbn.toIsbn13(isbn);
+    }
+
+    // The builder sets isbn without going through setIsbn
+    @PrePersist
+    void canonicalizeIsbn() {
+        isbn13 = Isbn.toIsbn13(isbn);
+    }
 }
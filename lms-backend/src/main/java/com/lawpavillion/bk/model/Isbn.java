@@ -0,0 +1,22 @@
+package com.lawpavillion.bk.model;
+
+import com.lawpavillion.isbn.IsbnChecksum;
+
+/**
+ * Canonical form of an ISBN: the 13 digits of its ISBN-13, without prefix, hyphens or spaces.
+ * An ISBN-10 is converted by prefixing 978 and recomputing the check digit, so every way of writing
+ * the same book's ISBN maps to one value.
+ */
+public final class Isbn {
+
+    private Isbn() {
+    }
+
+    /**
+     * Returns the canonical ISBN-13, or null when the value is null or not an ISBN the {@code @Isbn} constraint
+     * accepts. Parsing is {@link IsbnChecksum}'s, so lookups and the unique index follow the validator's rules.
+     */
+    public static String toIsbn13(String isbn) {
+        return IsbnChecksum.toIsbn13(isbn);
+    }
+}
@@ -1,8 +1,95 @@
 package com.lawpavillion.bk.repository;
 
+import com.lawpavillion.bk.dto.BookDto;
 import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.search.CatalogWatermark;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    // Fetches size + 1 rows to detect a next page instead of issuing a count query.
+    // Cacheable: the hot first pages are served from the query cache until the next write to the book table.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Slice<Book> findAllBy(Pageable pageable);
+
+    // Same page as findAllBy, projected straight into DTOs: no managed entities, no snapshots for dirty checking
+    // and no entity-to-DTO copy. The cached query result holds the projected values.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.lawpavillion.bk.dto.BookDto(b.Id, b.title, b.author, b.isbn, b.publishedDate, b.version) " +
+            "from Book b")
+    Slice<BookDto> findDtosBy(Pageable pageable);
+
+    // Forward-only read of the whole catalog for export; must be consumed inside a transaction and closed
+    // Bypasses the second-level cache so a full scan does not evict the hot entries.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select b from Book b order by b.Id")
+    Stream<Book> streamAll();
+
+    // One aggregate over the primary key and updatedAt indexes; the search index compares it with the
+    // watermark it committed to decide whether it missed writes while the application was down
+    @Query("select new com.lawpavillion.bk.search.CatalogWatermark(count(b), max(b.Id), max(b.updatedAt)) " +
+            "from Book b")
+    CatalogWatermark findWatermark();
+
+    // Bulk delete for many ids at once, in one statement that also returns the ids it removed: H2 reads the
+    // deleted rows back as a data change delta table. Hibernate does not see this native statement as a write,
+    // so the caller evicts the deleted books from the second-level cache.
+    @Query(value = "SELECT id FROM OLD TABLE (DELETE FROM book WHERE id IN (:ids))", nativeQuery = true)
+    List<Long> deleteAllByIdInReturningIds(Collection<Long> ids);
+
+    // Lookups by canonical ISBN-13, served by the uk_book_isbn13 unique index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Book> findByIsbn13(String isbn13);
+
+    @Query("select b.isbn13 from Book b where b.isbn13 in :isbn13s")
+    List<String> findExistingIsbn13s(Collection<String> isbn13s);
+
+    // Every ISBN in the catalog, for loading the duplicate guard's Bloom filter at startup
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b.isbn13 from Book b where b.isbn13 is not null")
+    Stream<String> streamIsbn13s();
+
+    // Keyset pagination over (updatedAt, id), served by idx_book_updated_at_id in both directions;
+    // BookQueryPlanTest holds oldest-first pages to the same scan budget as newest-first ones.
+    // The Pageable only carries the row limit; these queries never issue a count.
+    // The first page from either end is what most browsing starts with, so those two are cacheable.
+    // The redundant updatedAt bound in the cursor queries lets the index seek to the cursor; the OR alone
+    // would make it scan every row on the near side of the cursor first.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select b from Book b order by b.updatedAt desc, b.Id desc")
+    List<Book> findNewest(Pageable limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select b from Book b order by b.updatedAt asc, b.Id asc")
+    List<Book> findOldest(Pageable limit);
+
+    @Query("select b from Book b where b.updatedAt <= :updatedAt " +
+            "and (b.updatedAt < :updatedAt or (b.updatedAt = :updatedAt and b.Id < :id)) " +
+            "order by b.updatedAt desc, b.Id desc")
+    List<Book> findOlderThan(LocalDateTime updatedAt, Long id, Pageable limit);
+
+    @Query("select b from Book b where b.updatedAt >= :updatedAt " +
+            "and (b.updatedAt > :updatedAt or (b.updatedAt = :updatedAt and b.Id > :id)) " +
+            "order by b.updatedAt asc, b.Id asc")
+    List<Book> findNewerThan(LocalDateTime updatedAt, Long id, Pageable limit);
 }
@@ -0,0 +1,309 @@
+package com.lawpavillion.bk.search;
+
+import com.lawpavillion.bk.model.Book;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Embedded on-disk Lucene index over book title, author and ISBN.
+ * Writes are made visible to searchers through near-real-time reopen rather than a full commit,
+ * so the index stays current without paying for an fsync on every change. Changes are committed on a
+ * schedule instead, together with the highest id and latest update indexed so far, so that after a crash
+ * the startup check can tell the index missed writes even if its document count still matches.
+ */
+@Component
+@Slf4j
+public class BookSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String ISBN = "isbn";
+
+    // Commit user data keys
+    private static final String MAX_ID = "maxId";
+    private static final String LAST_UPDATED_AT = "lastUpdatedAt";
+
+    private final Path indexDir;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    // Highest id and updatedAt ever indexed. Removals leave them alone: the document count covers those.
+    private final AtomicLong maxId = new AtomicLong();
+    private final AtomicReference<LocalDateTime> lastUpdatedAt = new AtomicReference<>();
+
+    public BookSearchIndex(@Value("${lms.search.index-dir}") String indexDir) {
+        this.indexDir = Path.of(indexDir);
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        loadWatermark();
+        log.info("Opened search index at {} with {} documents", indexDir.toAbsolutePath(), size());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        commit();
+        writer.close();
+        directory.close();
+    }
+
+    public void index(Book book) {
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(book.getId())), toDocument(book));
+            advanceWatermark(book);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index book " + book.getId(), e);
+        }
+    }
+
+    public void indexAll(Collection<Book> books) {
+        try {
+            for (Book book : books) {
+                writer.updateDocument(new Term(ID, String.valueOf(book.getId())), toDocument(book));
+                advanceWatermark(book);
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index " + books.size() + " books", e);
+        }
+    }
+
+    public void remove(Long id) {
+        removeAll(List.of(id));
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        try {
+            Term[] terms = ids.stream().map(id -> new Term(ID, String.valueOf(id))).toArray(Term[]::new);
+            writer.deleteDocuments(terms);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove " + ids.size() + " books from index", e);
+        }
+    }
+
+    /**
+     * Drops every document. Used before a full rebuild from the database.
+     */
+    public void clear() {
+        try {
+            writer.deleteAll();
+            maxId.set(0);
+            lastUpdatedAt.set(null);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear search index", e);
+        }
+    }
+
+    /**
+     * Makes everything indexed so far durable, along with the watermark it reaches.
+     */
+    public void commit() {
+        try {
+            // Read before the commit: a write landing in between is then committed under an older watermark,
+            // which at worst costs a needless rebuild, never a missed one
+            Map<String, String> userData = new HashMap<>();
+            userData.put(MAX_ID, String.valueOf(maxId.get()));
+            LocalDateTime updated = lastUpdatedAt.get();
+            if (updated != null) {
+                userData.put(LAST_UPDATED_AT, updated.toString());
+            }
+            writer.setLiveCommitData(userData.entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to commit search index", e);
+        }
+    }
+
+    // Bounds how much a crash can lose; the startup check in SearchIndexBootstrap catches the rest
+    @Scheduled(fixedDelayString = "${lms.search.commit-interval}",
+            initialDelayString = "${lms.search.commit-interval}")
+    public void commitIfChanged() {
+        if (writer.hasUncommittedChanges()) {
+            commit();
+        }
+    }
+
+    public long size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * What the index currently holds, including changes not yet committed.
+     */
+    public CatalogWatermark watermark() {
+        long id = maxId.get();
+        return new CatalogWatermark(size(), id == 0 ? null : id, lastUpdatedAt.get());
+    }
+
+    /**
+     * Runs a free-text query and returns the matching book ids in relevance order.
+     * Every query term must match a title or author word (prefix match on the last typed characters is allowed);
+     * a query that looks like an ISBN also matches on the ISBN prefix.
+     */
+    public SearchHits search(String text, int offset, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, offset + limit);
+            long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value
+                    : searcher.count(query);
+
+            List<Long> ids = new ArrayList<>(limit);
+            StoredFields storedFields = searcher.storedFields();
+            for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                ids.add(Long.valueOf(storedFields.document(topDocs.scoreDocs[i].doc).get(ID)));
+            }
+            return new SearchHits(ids, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed for query: " + text, e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release index searcher", e);
+                }
+            }
+        }
+    }
+
+    private Query buildQuery(String text) {
+        BooleanQuery.Builder terms = new BooleanQuery.Builder();
+        int termCount = 0;
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                String token = attribute.toString();
+                Query anyField = new BooleanQuery.Builder()
+                        .add(new BoostQuery(new TermQuery(new Term(TITLE, token)), 2f), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(AUTHOR, token)), BooleanClause.Occur.SHOULD)
+                        .add(new PrefixQuery(new Term(TITLE, token)), BooleanClause.Occur.SHOULD)
+                        .add(new PrefixQuery(new Term(AUTHOR, token)), BooleanClause.Occur.SHOULD)
+                        .build();
+                terms.add(anyField, BooleanClause.Occur.MUST);
+                termCount++;
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to analyze query: " + text, e);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (termCount > 0) {
+            query.add(terms.build(), BooleanClause.Occur.SHOULD);
+        }
+        String isbn = normalizeIsbn(text);
+        if (isbn.length() >= 3) {
+            query.add(new PrefixQuery(new Term(ISBN, isbn)), BooleanClause.Occur.SHOULD);
+        } else if (termCount == 0) {
+            return null;
+        }
+        return query.build();
+    }
+
+    private void advanceWatermark(Book book) {
+        if (book.getId() != null) {
+            maxId.accumulateAndGet(book.getId(), Math::max);
+        }
+        LocalDateTime updated = book.getUpdatedAt();
+        if (updated != null) {
+            lastUpdatedAt.accumulateAndGet(updated, (a, b) -> a == null || b.isAfter(a) ? b : a);
+        }
+    }
+
+    // An index committed before watermarks were recorded has none, so the startup check rebuilds it once
+    private void loadWatermark() {
+        Map<String, String> userData = new HashMap<>();
+        Iterable<Map.Entry<String, String>> committed = writer.getLiveCommitData();
+        if (committed != null) {
+            committed.forEach(entry -> userData.put(entry.getKey(), entry.getValue()));
+        }
+        maxId.set(Long.parseLong(userData.getOrDefault(MAX_ID, "0")));
+        String updated = userData.get(LAST_UPDATED_AT);
+        lastUpdatedAt.set(updated == null ? null : LocalDateTime.parse(updated));
+    }
+
+    private Document toDocument(Book book) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(book.getId()), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(book.getTitle()), Field.Store.NO));
+        document.add(new TextField(AUTHOR, nullToEmpty(book.getAuthor()), Field.Store.NO));
+        if (book.getIsbn() != null) {
+            document.add(new StringField(ISBN, normalizeIsbn(book.getIsbn()), Field.Store.NO));
+        }
+        return document;
+    }
+
+    // Hyphenation and spacing vary between sources, so ISBNs are indexed and queried as bare digits
+    private static String normalizeIsbn(String isbn) {
+        StringBuilder digits = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (Character.isDigit(c) || c == 'X' || c == 'x') {
+                digits.append(Character.toUpperCase(c));
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    public record SearchHits(List<Long> ids, long totalHits) {
+    }
+}
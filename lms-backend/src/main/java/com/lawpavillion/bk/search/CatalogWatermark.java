@@ -0,0 +1,26 @@
+package com.lawpavillion.bk.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a copy of the catalog reaches: the number of books, the highest id and the latest update.
+ * Ids only grow and every write stamps updatedAt, so a copy missing an insert or an edit has a lower
+ * maxId or lastUpdatedAt than the database even when the count happens to match.
+ */
+public record CatalogWatermark(Long books, Long maxId, LocalDateTime lastUpdatedAt) {
+
+    public static final CatalogWatermark EMPTY = new CatalogWatermark(0L, null, null);
+
+    /**
+     * True if this copy holds as many books as {@code catalog} and has seen every id and update it has.
+     */
+    public boolean covers(CatalogWatermark catalog) {
+        return books.equals(catalog.books())
+                && !isBehind(maxId, catalog.maxId())
+                && !isBehind(lastUpdatedAt, catalog.lastUpdatedAt());
+    }
+
+    private static <T extends Comparable<T>> boolean isBehind(T seen, T latest) {
+        return latest != null && (seen == null || seen.compareTo(latest) < 0);
+    }
+}
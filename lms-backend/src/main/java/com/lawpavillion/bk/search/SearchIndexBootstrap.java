@@ -0,0 +1,69 @@
+package com.lawpavillion.bk.search;
+
+import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Brings the on-disk search index in line with the database at startup.
+ * The index outlives the process, so after a restart it may describe a catalog that no longer exists,
+ * or miss writes made after its last commit if the process crashed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexBootstrap implements ApplicationRunner {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepo;
+    private final BookSearchIndex searchIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        CatalogWatermark catalog = bookRepo.findWatermark();
+        CatalogWatermark indexed = searchIndex.watermark();
+        if (indexed.covers(catalog)) {
+            log.info("Search index is up to date with {} books", catalog.books());
+            return;
+        }
+
+        log.info("Rebuilding search index: index holds {}, catalog holds {}", indexed, catalog);
+        searchIndex.clear();
+        // One forward pass over the primary key; paging with OFFSET would rescan every earlier row per chunk
+        List<Book> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+        try (Stream<Book> books = bookRepo.streamAll()) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                chunk.add(book);
+                if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                    indexChunk(chunk);
+                }
+            }
+        }
+        indexChunk(chunk);
+        searchIndex.commit();
+        log.info("Search index rebuilt with {} documents", searchIndex.size());
+    }
+
+    private void indexChunk(List<Book> chunk) {
+        searchIndex.indexAll(chunk);
+        chunk.clear();
+        // Indexed rows are not needed again; keep the persistence context from growing with the catalog
+        entityManager.clear();
+    }
+}
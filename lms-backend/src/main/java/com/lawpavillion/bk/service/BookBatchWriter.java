@@ -0,0 +1,55 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Bulk write path: each call handles one chunk of books in a single transaction.
+ * For inserts, Hibernate groups the inserts into JDBC batches (hibernate.jdbc.batch_size) and draws ids from the pooled sequence,
+ * so a chunk costs a handful of round-trips rather than two per row.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookBatchWriter {
+
+    private final BookRepository bookRepo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public List<Book> insert(List<Book> books) {
+        // New rows are not hot; keep bulk loads from pushing the read-heavy entries out of the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        for (Book book : books) {
+            entityManager.persist(book);
+        }
+        entityManager.flush();
+        // Detach the chunk so the persistence context does not grow across chunks
+        entityManager.clear();
+        log.debug("Inserted chunk of {} books", books.size());
+        return books;
+    }
+
+    /**
+     * Deletes a chunk of books with one IN-list DELETE that returns the ids that actually existed.
+     * The statement bypasses the second-level cache; the caller evicts the returned ids once this has committed.
+     */
+    @Transactional
+    public List<Long> delete(List<Long> ids) {
+        List<Long> deleted = bookRepo.deleteAllByIdInReturningIds(ids);
+        log.debug("Deleted chunk of {} books ({} requested)", deleted.size(), ids.size());
+        return deleted;
+    }
+}
@@ -0,0 +1,81 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.dto.CacheStats;
+import com.lawpavillion.bk.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+
+/**
+ * Reports and clears the Hibernate second-level cache and query cache used for Book reads,
+ * along with the rendered pages in BookPageCache.
+ * Entries are kept in sync by Hibernate on every write; eviction here is for changes made outside the application.
+ */
+@Service
+@Slf4j
+public class BookCacheService {
+
+    private static final String QUERY_REGION = "default-query-results-region";
+
+    // The implementor exposes the session factory options without the deprecated SessionFactory accessor
+    private final SessionFactoryImplementor sessionFactory;
+    private final BookPageCache pageCache;
+
+    public BookCacheService(EntityManagerFactory entityManagerFactory, BookPageCache pageCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.pageCache = pageCache;
+    }
+
+    public CacheStats getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        boolean enabled = sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+        CacheStats.CacheStatsBuilder stats = CacheStats.builder()
+                .enabled(enabled)
+                .statementsExecuted(statistics.getPrepareStatementCount())
+                .since(LocalDateTime.ofInstant(statistics.getStart(), ZoneId.systemDefault()));
+        if (!enabled) {
+            return stats.build();
+        }
+
+        CacheRegionStatistics entity = statistics.getDomainDataRegionStatistics(Book.class.getName());
+        stats.entityHits(entity.getHitCount())
+                .entityMisses(entity.getMissCount())
+                .entityPuts(entity.getPutCount())
+                .entityHitRatio(ratio(entity.getHitCount(), entity.getMissCount()));
+
+        CacheRegionStatistics query = statistics.getQueryRegionStatistics(QUERY_REGION);
+        if (query != null) {
+            stats.queryHits(query.getHitCount())
+                    .queryMisses(query.getMissCount())
+                    .queryPuts(query.getPutCount())
+                    .queryHitRatio(ratio(query.getHitCount(), query.getMissCount()));
+        }
+        return stats.build();
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictEntityData(Book.class);
+        sessionFactory.getCache().evictQueryRegions();
+        pageCache.invalidate();
+        log.info("Evicted Book entries, cached queries and rendered pages");
+    }
+
+    // For writes Hibernate does not see, such as the bulk delete's native statement: the deleted books and
+    // every cached query result, which may still list them
+    public void evictBooks(Collection<Long> ids) {
+        ids.forEach(id -> sessionFactory.getCache().evictEntityData(Book.class, id));
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    private static double ratio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,38 @@
+package com.lawpavillion.bk.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * CSV layout of a book, one row per BookDto with a header line.
+ * Reading goes by the header names, so uploaded files may order or add columns freely.
+ */
+public final class BookCsv {
+
+    public static final CsvMapper MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new ParameterNamesModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public static final CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("title")
+            .addColumn("author")
+            .addColumn("isbn")
+            .addColumn("publishedDate")
+            // Exported for reference; imports create new books and ignore it
+            .addColumn("version", CsvSchema.ColumnType.NUMBER)
+            .setUseHeader(true)
+            .build();
+
+    public static final CsvSchema READ_SCHEMA = CsvSchema.emptySchema().withHeader();
+
+    private BookCsv() {
+    }
+}
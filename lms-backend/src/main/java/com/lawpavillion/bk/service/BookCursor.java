@@ -0,0 +1,45 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.exception.InvalidCursorException;
+import com.lawpavillion.bk.model.Book;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in the (updatedAt desc, id desc) ordering of the catalog.
+ * Serialized as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+record BookCursor(Direction direction, LocalDateTime updatedAt, Long id) {
+
+    enum Direction {
+        // rows that sort after the position, i.e. older books
+        AFTER,
+        // rows that sort before the position, i.e. newer books
+        BEFORE
+    }
+
+    static BookCursor after(Book book) {
+        return new BookCursor(Direction.AFTER, book.getUpdatedAt(), book.getId());
+    }
+
+    static BookCursor before(Book book) {
+        return new BookCursor(Direction.BEFORE, book.getUpdatedAt(), book.getId());
+    }
+
+    String encode() {
+        String raw = direction.name() + "|" + updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BookCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new BookCursor(Direction.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + token, e);
+        }
+    }
+}
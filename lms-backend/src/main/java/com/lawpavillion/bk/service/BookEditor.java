@@ -0,0 +1,76 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.exception.BookConflictException;
+import com.lawpavillion.bk.exception.BookNotFoundException;
+import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+/**
+ * Single-book edit path: the book is read, checked against the version the client edited and changed
+ * inside one transaction, so the UPDATE's version guard covers every field that was set.
+ * Merging a detached copy instead can lose an edit when another save lands between the read and the merge:
+ * the merge target already holds the new values, nothing looks dirty, and only the version is bumped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookEditor {
+
+    private final BookRepository bookRepo;
+
+    /**
+     * Applies {@code edit} to the managed book and flushes it. The edit returns false when it changed nothing,
+     * in which case no UPDATE is issued.
+     *
+     * @throws BookNotFoundException if the book does not exist
+     * @throws BookConflictException if {@code expectedVersion} is set and the book is at another version
+     * @throws org.springframework.dao.OptimisticLockingFailureException if a concurrent save wins the race
+     */
+    @Transactional
+    public Book edit(Long id, Long expectedVersion, Predicate<Book> edit) {
+        Book book = bookRepo.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Book not found with ID: {}", id);
+                    return new BookNotFoundException("Book Not Found with ID: " + id);
+                });
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw conflict(book, expectedVersion);
+        }
+        if (edit.test(book)) {
+            book.setUpdatedAt(LocalDateTime.now());
+            bookRepo.saveAndFlush(book);
+        }
+        return book;
+    }
+
+    /**
+     * Deletes the book through the entity, so only this book is evicted from the second-level cache;
+     * a bulk DELETE statement would evict the whole region. The lookup is a cache hit for hot books,
+     * and inside one transaction delete() finds the book already loaded instead of selecting it again.
+     *
+     * @throws BookNotFoundException if the book does not exist
+     */
+    @Transactional
+    public void delete(Long id) {
+        Book book = bookRepo.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Cannot delete - Book not found with ID: {}", id);
+                    return new BookNotFoundException("Book Not Found with ID: " + id);
+                });
+        bookRepo.delete(book);
+    }
+
+    static BookConflictException conflict(Book current, Long expectedVersion) {
+        String message = "Book " + current.getId() + " was changed by someone else: "
+                + (expectedVersion != null ? "expected version " + expectedVersion + " but it" : "it")
+                + " is at version " + current.getVersion();
+        return new BookConflictException(message, BookMapper.toDto(current));
+    }
+}
@@ -0,0 +1,63 @@
+package com.lawpavillion.bk.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog to an output stream one row at a time.
+ * Rows come from a forward-only repository stream and are detached as soon as they are written,
+ * so memory use does not depend on the size of the catalog.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final BookRepository bookRepo;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long export(CatalogFormat format, OutputStream out) {
+        log.info("Exporting catalog as {}", format);
+        long rows = 0;
+        try (Stream<Book> books = bookRepo.streamAll();
+             SequenceWriter writer = openWriter(format, out)) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                writer.write(BookMapper.toDto(book));
+                entityManager.detach(book);
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Catalog export failed after " + rows + " rows", e);
+        }
+        log.info("Exported {} books as {}", rows, format);
+        return rows;
+    }
+
+    private SequenceWriter openWriter(CatalogFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            case CSV -> BookCsv.MAPPER.writer(BookCsv.SCHEMA).writeValues(out);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.model.Isbn;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversions between the Book entity and its DTO, shared by the service-layer read and write paths.
+ */
+final class BookMapper {
+
+    private BookMapper() {
+    }
+
+    static Book toEntity(BookDto request) {
+        return Book.builder()
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .isbn(request.getIsbn())
+                .isbn13(Isbn.toIsbn13(request.getIsbn()))
+                .publishedDate(request.getPublishedDate())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    static BookDto toDto(Book book) {
+        return BookDto.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .isbn(book.getIsbn())
+                .publishedDate(book.getPublishedDate())
+                .version(book.getVersion())
+                .build();
+    }
+}
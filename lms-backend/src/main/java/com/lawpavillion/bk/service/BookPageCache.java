@@ -0,0 +1,85 @@
+package com.lawpavillion.bk.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fully rendered response bodies for the first few catalog pages, keyed by (page, size, sort, media type).
+ * A hit is handed to the response as-is, skipping the query, DTO mapping and JSON serialization.
+ *
+ * Every write in BookServiceImpl calls invalidate() after it has committed. Entries carry the generation
+ * they were rendered under, so a page rendered from data read before a write is never served after it.
+ */
+@Component
+@Slf4j
+public class BookPageCache {
+
+    private record Key(int page, int size, Sort sort, MediaType mediaType) {
+    }
+
+    private record Entry(long generation, byte[] body) {
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Seeded from the clock so a generation handed out before a restart is never current again
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+    @Value("${lms.page-cache.enabled}")
+    private boolean enabled;
+
+    // Only pages below this number are cached; deeper pages are rarely requested twice
+    @Value("${lms.page-cache.max-page}")
+    private int maxPage;
+
+    // Bounds the size of a single cached body
+    @Value("${lms.page-cache.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${lms.page-cache.max-entries}")
+    private int maxEntries;
+
+    /**
+     * Returns the cached body for the page in the given encoding, or renders it with the loader and caches it when the page is hot.
+     */
+    public byte[] get(Pageable pageable, MediaType mediaType, Supplier<byte[]> loader) {
+        if (!enabled || pageable.getPageNumber() > maxPage || pageable.getPageSize() > maxPageSize) {
+            return loader.get();
+        }
+
+        Key key = new Key(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), mediaType);
+        long current = generation.get();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.generation() == current) {
+            return entry.body();
+        }
+
+        byte[] body = loader.get();
+        // Once full, only replace stale entries; invalidation empties the map again on the next write
+        if (entry != null || entries.size() < maxEntries) {
+            entries.put(key, new Entry(current, body));
+        }
+        return body;
+    }
+
+    /**
+     * Changes with every invalidation, i.e. after every write to the catalog. List ETags are derived from it.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+        log.debug("Invalidated cached catalog pages");
+    }
+}
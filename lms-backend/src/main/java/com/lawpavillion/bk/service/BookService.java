@@ -1,25 +1,75 @@
 package com.lawpavillion.bk.service;
 
+import com.lawpavillion.bk.dto.BatchResult;
 import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.BookPatchDto;
+import com.lawpavillion.bk.dto.BulkDeleteResult;
+import com.lawpavillion.bk.dto.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface BookService {
 
     // Add Book
     // after the insertion of a book, it would return all the books with the book just added at the top
     // JavaFX would handle this with a Prepend Logic
+    // an ISBN another book already has, in any spelling, is a DuplicateIsbnException
     BookDto addBook(BookDto request);
 
+    // Add Books in bulk
+    // each item is validated on its own; valid items are inserted in chunked, JDBC-batched transactions
+    // items whose ISBN is already in the catalog or earlier in the request are rejected
+    BatchResult addBooks(List<BookDto> requests);
+
     // Get Book
     Page<BookDto> getAllBooks(Pageable pageable);
 
+    // Get Book by id
+    BookDto getBook(Long id);
+
+    // Get Book by ISBN
+    // any ISBN-10 or ISBN-13 spelling of the book's ISBN finds it; an unparseable ISBN is an InvalidIsbnException
+    BookDto getBookByIsbn(String isbn);
+
+    // Get Book slice
+    // like getAllBooks but reports only whether a next page exists, never the total
+    Slice<BookDto> getBookSlice(Pageable pageable);
+
+    // Get Book by cursor
+    // keyset pagination on (updatedAt, id); a null cursor starts at the newest book, or at the oldest when fromEnd is set
+    CursorPage<BookDto> getBooksByCursor(String cursor, int size, boolean fromEnd);
+
+    // Count books
+    // served from the maintained catalog counter, not a count query
+    long countBooks();
+
+    // Search books
+    // full-text match on title/author and prefix match on ISBN, ordered by relevance
+    Page<BookDto> searchBooks(String query, Pageable pageable);
+
     // Update books
     // after update it would return all the books with the updated book at the top
+    // when the request carries a version, a book changed since that version is a BookConflictException
+    // changing the ISBN to one another book has is a DuplicateIsbnException
     BookDto updateBook(Long id, BookDto request);
 
+    // Patch book
+    // read-modify-write: the book is loaded (a SELECT unless the second-level cache holds it), the non-null fields
+    // of the request are applied, and the dirty-checked UPDATE sets only the columns that changed
+    // a request with no fields present writes nothing
+    // versioned like updateBook
+    BookDto patchBook(Long id, BookPatchDto request);
+
     // Delete books
     // would use a pop up to pass the message (Success or failure)
     void deleteBook(Long id);
 
+    // Delete books in bulk
+    // one IN-list DELETE per chunk, which also returns the ids it removed; reports which ids were deleted
+    // and which did not exist
+    BulkDeleteResult deleteBooks(List<Long> ids);
+
 }
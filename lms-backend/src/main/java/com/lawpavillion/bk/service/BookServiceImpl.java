@@ -1,101 +1,471 @@
 package com.lawpavillion.bk.service;
 
+import com.lawpavillion.bk.dto.BatchItemResult;
+import com.lawpavillion.bk.dto.BatchResult;
 import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.BookPatchDto;
+import com.lawpavillion.bk.dto.BulkDeleteResult;
+import com.lawpavillion.bk.dto.CursorPage;
 import com.lawpavillion.bk.exception.BookNotFoundException;
+import com.lawpavillion.bk.exception.DuplicateIsbnException;
+import com.lawpavillion.bk.exception.InvalidIsbnException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.model.Isbn;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.lawpavillion.bk.repository.BookRepository;
+import com.lawpavillion.bk.search.BookSearchIndex;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+// One timer per operation, tagged with the method name, exported as a percentile histogram
+@Timed(value = "lms.book.service", histogram = true)
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepo;
+    private final BookSearchIndex searchIndex;
+    private final CatalogCounter catalogCounter;
+    private final BookBatchWriter batchWriter;
+    private final BookEditor bookEditor;
+    private final BookPageCache pageCache;
+    private final BookCacheService cacheService;
+    private final IsbnBloomFilter isbnFilter;
+    private final Validator validator;
+
+    @Value("${lms.batch.chunk-size}")
+    private int batchChunkSize;
 
     @Override
     public BookDto addBook(BookDto request) {
         log.info("Adding new book with title: {}", request.getTitle());
 
-        Book book = Book.builder()
-                .title(request.getTitle())
-                .author(request.getAuthor())
-                .isbn(request.getIsbn())
-                .publishedDate(request.getPublishedDate())
-                .updatedAt(LocalDateTime.now())
-                .build();
+        Book book = BookMapper.toEntity(request);
+        rejectTakenIsbn(book.getIsbn13(), null);
 
-        Book savedBook = bookRepo.save(book);
+        Book savedBook;
+        try {
+            savedBook = bookRepo.save(book);
+        } catch (DataIntegrityViolationException e) {
+            // Another request stored the same ISBN after our check; the unique index caught it
+            throw duplicateOf(book.getIsbn13(), null).orElseThrow(() -> e);
+        }
+        isbnFilter.add(savedBook.getIsbn13());
+        catalogCounter.add(1);
+        searchIndex.index(savedBook);
+        pageCache.invalidate();
         log.debug("Book saved successfully with ID: {}", savedBook.getId());
-        return BookDto.builder()
-                .id(savedBook.getId())
-                .title(savedBook.getTitle())
-                .author(savedBook.getAuthor())
-                .isbn(savedBook.getIsbn())
-                .publishedDate(savedBook.getPublishedDate())
+        return BookMapper.toDto(savedBook);
+    }
+
+    @Override
+    public BatchResult addBooks(List<BookDto> requests) {
+        log.info("Adding {} books in bulk", requests.size());
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+
+        List<Book> chunk = new ArrayList<>(Math.min(batchChunkSize, requests.size()));
+        List<Integer> chunkIndexes = new ArrayList<>(chunk.size());
+        Map<String, Integer> firstIndexByIsbn = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookDto request = requests.get(i);
+            Map<String, String> errors = request == null ? Map.of("book", "Book cannot be null") : validate(request);
+            Book book = null;
+            if (errors.isEmpty()) {
+                book = BookMapper.toEntity(request);
+                // The entity has stricter rules than the DTO; catching them here keeps one bad row from failing its chunk
+                errors = validate(book);
+            }
+            if (errors.isEmpty() && book.getIsbn13() != null) {
+                Integer first = firstIndexByIsbn.putIfAbsent(book.getIsbn13(), i);
+                if (first != null) {
+                    errors = Map.of("isbn", "Same ISBN as item " + first);
+                }
+            }
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.builder().index(i).success(false).errors(errors).build();
+                continue;
+            }
+
+            chunk.add(book);
+            chunkIndexes.add(i);
+            if (chunk.size() == batchChunkSize) {
+                writeChunk(chunk, chunkIndexes, results);
+                chunk = new ArrayList<>(batchChunkSize);
+                chunkIndexes = new ArrayList<>(batchChunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, chunkIndexes, results);
+        }
+
+        int succeeded = 0;
+        for (BatchItemResult result : results) {
+            if (result.isSuccess()) {
+                succeeded++;
+            }
+        }
+        log.info("Bulk add finished: {} of {} books added", succeeded, requests.size());
+        return BatchResult.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .items(List.of(results))
                 .build();
     }
 
+    private void writeChunk(List<Book> chunk, List<Integer> indexes, BatchItemResult[] results) {
+        rejectTakenIsbns(chunk, indexes, results);
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            batchWriter.insert(chunk);
+        } catch (RuntimeException e) {
+            log.error("Failed to insert chunk of {} books: {}", chunk.size(), e.getMessage(), e);
+            for (int index : indexes) {
+                results[index] = BatchItemResult.builder()
+                        .index(index)
+                        .success(false)
+                        .errors(Map.of("book", "Could not be saved: " + e.getMessage()))
+                        .build();
+            }
+            return;
+        }
+
+        chunk.forEach(book -> isbnFilter.add(book.getIsbn13()));
+        catalogCounter.add(chunk.size());
+        searchIndex.indexAll(chunk);
+        pageCache.invalidate();
+        for (int i = 0; i < chunk.size(); i++) {
+            results[indexes.get(i)] = BatchItemResult.builder()
+                    .index(indexes.get(i))
+                    .success(true)
+                    .id(chunk.get(i).getId())
+                    .build();
+        }
+    }
+
+    /**
+     * Drops the books whose ISBN is already in the catalog from the chunk and reports them as failed.
+     * Only ISBNs the Bloom filter may have seen are looked up, with one IN query for the whole chunk;
+     * for a load of new books that is usually none.
+     */
+    private void rejectTakenIsbns(List<Book> chunk, List<Integer> indexes, BatchItemResult[] results) {
+        List<String> probe = new ArrayList<>();
+        for (Book book : chunk) {
+            if (book.getIsbn13() != null && isbnFilter.mightContain(book.getIsbn13())) {
+                probe.add(book.getIsbn13());
+            }
+        }
+        if (probe.isEmpty()) {
+            return;
+        }
+
+        Set<String> taken = new HashSet<>(bookRepo.findExistingIsbn13s(probe));
+        for (int i = chunk.size() - 1; i >= 0; i--) {
+            if (taken.contains(chunk.get(i).getIsbn13())) {
+                results[indexes.get(i)] = BatchItemResult.builder()
+                        .index(indexes.get(i))
+                        .success(false)
+                        .errors(Map.of("isbn", "A book with ISBN " + chunk.get(i).getIsbn() + " already exists"))
+                        .build();
+                chunk.remove(i);
+                indexes.remove(i);
+            }
+        }
+    }
+
+    // Throws when isbn13 belongs to a book other than selfId (null for a new book)
+    private void rejectTakenIsbn(String isbn13, Long selfId) {
+        if (isbn13 != null && isbnFilter.mightContain(isbn13)) {
+            Optional<DuplicateIsbnException> duplicate = duplicateOf(isbn13, selfId);
+            if (duplicate.isPresent()) {
+                throw duplicate.get();
+            }
+        }
+    }
+
+    private Optional<DuplicateIsbnException> duplicateOf(String isbn13, Long selfId) {
+        if (isbn13 == null) {
+            return Optional.empty();
+        }
+        return bookRepo.findByIsbn13(isbn13)
+                .filter(existing -> !existing.getId().equals(selfId))
+                .map(existing -> new DuplicateIsbnException(
+                        "Book " + existing.getId() + " already has ISBN " + existing.getIsbn(), BookMapper.toDto(existing)));
+    }
+
+    private <T> Map<String, String> validate(T target) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<T> violation : validator.validate(target)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    // Reads run in read-only transactions: Spring switches the Hibernate session to FlushMode.MANUAL and loads
+    // entities read-only, so there is no flush before each query and no snapshot kept for dirty checking.
     @Override
+    @Transactional(readOnly = true)
     public Page<BookDto> getAllBooks(Pageable pageable) {
         log.info("Fetching all books with pagination - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        return bookRepo.findAll(pageable).map(bk -> BookDto.builder()
-                .id(bk.getId())
-                .title(bk.getTitle())
-                .author(bk.getAuthor())
-                .isbn(bk.getIsbn())
-                .publishedDate(bk.getPublishedDate())
-                .build());
+        // The total comes from the catalog counter, saving the count(*) that findAll(pageable) would issue
+        Slice<BookDto> slice = bookRepo.findDtosBy(pageable);
+        return new PageImpl<>(slice.getContent(), pageable, catalogCounter.get());
     }
 
     @Override
-    public BookDto updateBook(Long id, BookDto request) {
-        log.info("Updating book with ID: {}", id);
-
-        // Find existing book by path variable id (not request.getId())
-        Book existingBook = bookRepo.findById(id)
+    @Transactional(readOnly = true)
+    public BookDto getBook(Long id) {
+        log.info("Fetching book with ID: {}", id);
+        return bookRepo.findById(id)
+                .map(BookMapper::toDto)
                 .orElseThrow(() -> {
                     log.error("Book not found with ID: {}", id);
                     return new BookNotFoundException("Book Not Found with ID: " + id);
                 });
+    }
 
-        // Update the existing book entity (preserves ID and createdAt)
-        existingBook.setTitle(request.getTitle());
-        existingBook.setAuthor(request.getAuthor());
-        existingBook.setIsbn(request.getIsbn());
-        existingBook.setPublishedDate(request.getPublishedDate());
-        existingBook.setUpdatedAt(LocalDateTime.now());
+    @Override
+    @Transactional(readOnly = true)
+    public BookDto getBookByIsbn(String isbn) {
+        log.info("Fetching book with ISBN: {}", isbn);
+        String isbn13 = Isbn.toIsbn13(isbn);
+        if (isbn13 == null) {
+            throw new InvalidIsbnException("Invalid ISBN: " + isbn);
+        }
+        // Always asks the unique index. The Bloom filter only knows ISBNs loaded at startup or written by this
+        // process, so rows from SQL, a data migration or another instance sharing the database would read as absent.
+        // It stays on the write side, where a wrong "absent" only skips the probe and the unique index still rejects
+        return bookRepo.findByIsbn13(isbn13)
+                .map(BookMapper::toDto)
+                .orElseThrow(() -> new BookNotFoundException("Book Not Found with ISBN: " + isbn));
+    }
 
-        // Save the updated book
-        Book updatedBook = bookRepo.save(existingBook);
-        log.debug("Book updated successfully with ID: {}", updatedBook.getId());
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDto> getBookSlice(Pageable pageable) {
+        log.info("Fetching book slice - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
+        return bookRepo.findDtosBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookDto> getBooksByCursor(String cursor, int size, boolean fromEnd) {
+        log.info("Fetching books by cursor - Cursor: {}, Size: {}, From end: {}", cursor, size, fromEnd);
+
+        // Fetch one extra row to learn whether another page exists in the direction of travel
+        Pageable limit = PageRequest.of(0, size + 1);
+        BookCursor position = cursor == null || cursor.isBlank() ? null : BookCursor.decode(cursor);
+        boolean backwards = position == null ? fromEnd : position.direction() == BookCursor.Direction.BEFORE;
 
-        return BookDto.builder()
-                .id(updatedBook.getId())
-                .title(updatedBook.getTitle())
-                .author(updatedBook.getAuthor())
-                .isbn(updatedBook.getIsbn())
-                .publishedDate(updatedBook.getPublishedDate())
+        List<Book> rows;
+        if (position == null) {
+            rows = fromEnd ? bookRepo.findOldest(limit) : bookRepo.findNewest(limit);
+        } else if (backwards) {
+            rows = bookRepo.findNewerThan(position.updatedAt(), position.id(), limit);
+        } else {
+            rows = bookRepo.findOlderThan(position.updatedAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Book> books = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (backwards) {
+            // Backward queries walk the index in ascending order; flip to keep newest-first
+            Collections.reverse(books);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!books.isEmpty()) {
+            Book first = books.get(0);
+            Book last = books.get(books.size() - 1);
+            if (backwards) {
+                prevCursor = hasMore ? BookCursor.before(first).encode() : null;
+                nextCursor = position != null ? BookCursor.after(last).encode() : null;
+            } else {
+                nextCursor = hasMore ? BookCursor.after(last).encode() : null;
+                prevCursor = position != null ? BookCursor.before(first).encode() : null;
+            }
+        }
+
+        return CursorPage.<BookDto>builder()
+                .content(books.stream().map(BookMapper::toDto).toList())
+                .size(size)
+                .nextCursor(nextCursor)
+                .prevCursor(prevCursor)
                 .build();
     }
 
+    @Override
+    public long countBooks() {
+        return catalogCounter.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDto> searchBooks(String query, Pageable pageable) {
+        log.info("Searching books for '{}' - Page: {}, Size: {}", query, pageable.getPageNumber(), pageable.getPageSize());
+        BookSearchIndex.SearchHits hits = searchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+
+        // Load the matching rows by primary key and put them back in relevance order
+        Map<Long, Book> booksById = bookRepo.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookDto> content = hits.ids().stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(BookMapper::toDto)
+                .toList();
+
+        return new PageImpl<>(content, pageable, hits.totalHits());
+    }
+
+    @Override
+    public BookDto updateBook(Long id, BookDto request) {
+        log.info("Updating book with ID: {}", id);
+
+        // Find existing book by path variable id (not request.getId()) and update it in place (preserves ID and createdAt)
+        Book updatedBook = edit(id, request.getVersion(), request.getIsbn(), existingBook -> {
+            changeIsbn(existingBook, request.getIsbn());
+            existingBook.setTitle(request.getTitle());
+            existingBook.setAuthor(request.getAuthor());
+            existingBook.setPublishedDate(request.getPublishedDate());
+            return true;
+        });
+        searchIndex.index(updatedBook);
+        pageCache.invalidate();
+        log.debug("Book updated successfully with ID: {}", updatedBook.getId());
+
+        return BookMapper.toDto(updatedBook);
+    }
+
+    @Override
+    public BookDto patchBook(Long id, BookPatchDto request) {
+        log.info("Patching book with ID: {}", id);
+
+        boolean searchFieldsChanged = request.getTitle() != null || request.getAuthor() != null || request.getIsbn() != null;
+        boolean anyFieldChanged = searchFieldsChanged || request.getPublishedDate() != null;
+
+        // Served from the second-level cache when the book is hot, and the cached entry is refreshed on save
+        Book patchedBook = edit(id, request.getVersion(), request.getIsbn(), book -> {
+            if (request.getIsbn() != null) changeIsbn(book, request.getIsbn());
+            if (request.getTitle() != null) book.setTitle(request.getTitle());
+            if (request.getAuthor() != null) book.setAuthor(request.getAuthor());
+            if (request.getPublishedDate() != null) book.setPublishedDate(request.getPublishedDate());
+            return anyFieldChanged;
+        });
+        if (!anyFieldChanged) {
+            return BookMapper.toDto(patchedBook);
+        }
+
+        pageCache.invalidate();
+        if (searchFieldsChanged) {
+            searchIndex.index(patchedBook);
+        }
+        log.debug("Book patched successfully with ID: {}", id);
+        return BookMapper.toDto(patchedBook);
+    }
+
+    /**
+     * Runs a versioned edit. The UPDATE is guarded by the version (WHERE version = ?), so a concurrent
+     * save between our read and write is never overwritten. When the client says which version it edited,
+     * that version is the one checked, which also catches changes made while the client had the book open.
+     * {@code newIsbn} is the ISBN the edit sets, if any, for reporting a duplicate the unique index rejected.
+     */
+    private Book edit(Long id, Long expectedVersion, String newIsbn, Predicate<Book> changes) {
+        Book edited;
+        try {
+            edited = bookEditor.edit(id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            // Another book took the new ISBN after changeIsbn checked it
+            throw duplicateOf(Isbn.toIsbn13(newIsbn), id).orElseThrow(() -> e);
+        } catch (OptimisticLockingFailureException e) {
+            // Raised at flush or commit, after the transaction has been rolled back; report what won instead
+            Book current = bookRepo.findById(id)
+                    .orElseThrow(() -> new BookNotFoundException("Book Not Found with ID: " + id));
+            throw BookEditor.conflict(current, expectedVersion);
+        }
+        isbnFilter.add(edited.getIsbn13());
+        return edited;
+    }
+
+    // Runs inside the edit transaction, so the duplicate check sees the same database state as the UPDATE
+    private void changeIsbn(Book book, String isbn) {
+        String isbn13 = Isbn.toIsbn13(isbn);
+        if (isbn13 != null && !isbn13.equals(book.getIsbn13())) {
+            rejectTakenIsbn(isbn13, book.getId());
+        }
+        book.setIsbn(isbn);
+    }
+
     @Override
     public void deleteBook(Long id) {
         log.info("Deleting book with ID: {}", id);
-        
-        // Check if book exists before deleting
-        if (!bookRepo.existsById(id)) {
-            log.error("Cannot delete - Book not found with ID: {}", id);
-            throw new BookNotFoundException("Book Not Found with ID: " + id);
-        }
-        
-        bookRepo.deleteById(id);
+        // Commits before the counter, index and page cache are touched, so a reader never refills a cached
+        // page from a transaction that has not committed yet
+        bookEditor.delete(id);
+
+        catalogCounter.add(-1);
+        searchIndex.remove(id);
+        pageCache.invalidate();
         log.debug("Book deleted successfully with ID: {}", id);
     }
+
+    @Override
+    public BulkDeleteResult deleteBooks(List<Long> ids) {
+        log.info("Deleting {} books in bulk", ids.size());
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        requested.removeIf(Objects::isNull);
+
+        List<Long> deleted = new ArrayList<>(requested.size());
+        for (int from = 0; from < requested.size(); from += batchChunkSize) {
+            List<Long> chunk = requested.subList(from, Math.min(from + batchChunkSize, requested.size()));
+            List<Long> removed = batchWriter.delete(chunk);
+            if (!removed.isEmpty()) {
+                cacheService.evictBooks(removed);
+            }
+            catalogCounter.add(-removed.size());
+            searchIndex.removeAll(removed);
+            deleted.addAll(removed);
+        }
+        if (!deleted.isEmpty()) {
+            pageCache.invalidate();
+        }
+
+        List<Long> missing = new ArrayList<>(requested);
+        missing.removeAll(new LinkedHashSet<>(deleted));
+        log.info("Bulk delete finished: {} deleted, {} not found", deleted.size(), missing.size());
+        return BulkDeleteResult.builder()
+                .deleted(deleted)
+                .missing(missing)
+                .build();
+    }
 }
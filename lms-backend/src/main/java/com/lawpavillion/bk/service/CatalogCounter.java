@@ -0,0 +1,50 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory count of books in the catalog, kept current by the write paths in BookServiceImpl.
+ * Page views read it instead of running SELECT count(*). A write racing with reconciliation can
+ * leave it briefly off by a few rows, which the next scheduled reconcile corrects.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogCounter {
+
+    private final BookRepository bookRepo;
+    private final BookPageCache pageCache;
+    private final AtomicLong count = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        count.set(bookRepo.count());
+    }
+
+    public long get() {
+        return count.get();
+    }
+
+    public void add(long delta) {
+        count.addAndGet(delta);
+    }
+
+    @Scheduled(fixedDelayString = "${lms.catalog.count-reconcile-interval}",
+            initialDelayString = "${lms.catalog.count-reconcile-interval}")
+    public void reconcile() {
+        long actual = bookRepo.count();
+        long previous = count.getAndSet(actual);
+        if (previous != actual) {
+            log.warn("Catalog counter drifted: counted {} but database has {} books", previous, actual);
+            // Cached pages carry the old total
+            pageCache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.lawpavillion.bk.service;
+
+/**
+ * File formats the catalog can be exported to and imported from.
+ */
+public enum CatalogFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    CatalogFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static CatalogFormat fromContentType(String contentType) {
+        for (CatalogFormat format : values()) {
+            if (contentType != null && contentType.toLowerCase().startsWith(format.contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
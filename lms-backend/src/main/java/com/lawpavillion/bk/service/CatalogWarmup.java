@@ -0,0 +1,48 @@
+package com.lawpavillion.bk.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the first catalog pages and the first cursor page from either end at startup, when lms.warmup.enabled.
+ * That pulls the head of the updated_at indexes and the rows they point to into the database's page cache,
+ * fills the query cache and compiles the read path, so the first requests after a restart are not the slow ones.
+ * Spring Boot reports the instance ready (/actuator/health/readiness) only after the runners have finished.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogWarmup implements ApplicationRunner {
+
+    private final BookService bookService;
+
+    @Value("${lms.warmup.enabled}")
+    private boolean enabled;
+
+    @Value("${lms.warmup.pages}")
+    private int pages;
+
+    @Value("${lms.warmup.page-size}")
+    private int pageSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        // Same page requests as GET /api/books and GET /api/books/cursor make, so the cached query results match
+        for (int page = 0; page < pages; page++) {
+            bookService.getAllBooks(PageRequest.of(page, pageSize, Sort.by("updatedAt").descending()));
+        }
+        bookService.getBooksByCursor(null, pageSize, false);
+        bookService.getBooksByCursor(null, pageSize, true);
+        log.info("Warmed up the first {} catalog pages of {} books in {} ms", pages, pageSize, (System.nanoTime() - start) / 1_000_000);
+    }
+}
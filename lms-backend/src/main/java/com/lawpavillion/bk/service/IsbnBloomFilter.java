@@ -0,0 +1,80 @@
+package com.lawpavillion.bk.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filter over the canonical ISBN-13s in the catalog, in front of the uk_book_isbn13 index.
+ * When it says an ISBN is absent, the ISBN is certainly new and writes skip the duplicate probe; when it says
+ * present, the database decides. Deleted books stay in the filter and only cost an extra probe.
+ *
+ * Until IsbnIndexBootstrap has loaded the catalog, every ISBN counts as possibly present.
+ * Books written outside this process are missing from it, so it only ever saves write-side probes, which the
+ * unique index backs up; reads by ISBN always go to the index.
+ */
+@Component
+public class IsbnBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private volatile boolean loaded;
+
+    public IsbnBloomFilter(@Value("${lms.isbn.bloom.expected-books}") long expectedBooks,
+                           @Value("${lms.isbn.bloom.false-positive-rate}") double falsePositiveRate) {
+        // Standard sizing: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hash functions
+        long bits = (long) Math.ceil(-expectedBooks * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedBooks * Math.log(2)));
+    }
+
+    public void add(String isbn13) {
+        if (isbn13 == null) {
+            return;
+        }
+        long hash = mix(Long.parseLong(isbn13));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String isbn13) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = mix(Long.parseLong(isbn13));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+
+    // SplitMix64 finalizer: spreads consecutive ISBNs over the whole 64-bit range
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
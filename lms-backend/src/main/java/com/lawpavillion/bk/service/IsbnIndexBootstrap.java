@@ -0,0 +1,39 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Loads every ISBN in the catalog into the IsbnBloomFilter at startup. Books written while it runs are
+ * added by the write path, so once it finishes the filter covers the whole catalog.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IsbnIndexBootstrap implements ApplicationRunner {
+
+    private final BookRepository bookRepo;
+    private final IsbnBloomFilter isbnFilter;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        AtomicLong loaded = new AtomicLong();
+        try (Stream<String> isbn13s = bookRepo.streamIsbn13s()) {
+            isbn13s.forEach(isbn13 -> {
+                isbnFilter.add(isbn13);
+                loaded.incrementAndGet();
+            });
+        }
+        isbnFilter.markLoaded();
+        log.info("ISBN duplicate guard loaded with {} ISBNs", loaded.get());
+    }
+}
@@ -0,0 +1,31 @@
+package com.lawpavillion.bk.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.ElementType.TYPE_USE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * The annotated value must be a valid ISBN-10 or ISBN-13, check digit included; see {@link com.lawpavillion.isbn.IsbnChecksum}
+ * for the accepted formats. null is valid, as with the other Bean Validation constraints.
+ */
+@Documented
+@Constraint(validatedBy = IsbnValidator.class)
+@Target({FIELD, PARAMETER, ANNOTATION_TYPE, TYPE_USE})
+@Retention(RUNTIME)
+public @interface Isbn {
+
+    String message() default "Invalid ISBN";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,13 @@
+package com.lawpavillion.bk.validation;
+
+import com.lawpavillion.isbn.IsbnChecksum;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IsbnValidator implements ConstraintValidator<Isbn, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || IsbnChecksum.isValid(value);
+    }
+}
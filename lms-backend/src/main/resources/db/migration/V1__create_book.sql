@@ -0,0 +1,25 @@
+-- Book catalog. Hibernate only validates this schema (spring.jpa.hibernate.ddl-auto=validate):
+-- change it by adding a migration, never by editing one that has been applied.
+
+-- Book's @SequenceGenerator reserves 50 ids per call; the increment must equal its allocationSize
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE book (
+    id             BIGINT       NOT NULL,
+    title          VARCHAR(255) NOT NULL,
+    author         VARCHAR(255) NOT NULL,
+    isbn           VARCHAR(255),
+    isbn13         VARCHAR(13),
+    published_date DATE,
+    version        BIGINT,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT pk_book PRIMARY KEY (id)
+);
+
+-- Catalog pages, the newest/oldest pages and the keyset cursors all order by (updated_at, id)
+CREATE INDEX idx_book_updated_at_id ON book (updated_at DESC, id DESC);
+
+-- One book per canonical ISBN; also serves lookups by ISBN and the duplicate probes on write.
+-- Books without an ISBN (isbn13 null) are not constrained
+CREATE UNIQUE INDEX uk_book_isbn13 ON book (isbn13);
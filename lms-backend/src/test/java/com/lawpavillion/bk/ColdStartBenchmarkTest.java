@@ -0,0 +1,107 @@
+package com.lawpavillion.bk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * First-request latency after a restart of the persistent profile, with and without warm-up, over a file database
+ * of 5M books (-Dlms.cold-start.books to change it). The catalog is seeded once through SQL, and the start after
+ * seeding, which rebuilds the search index, is not measured. Each mode then restarts a few times and reports the
+ * median time until the instance is ready and the median latency of its first GET /api/books and /api/books/cursor.
+ *
+ * Run with: mvn test -Dtest=ColdStartBenchmarkTest -Dbenchmarks=true
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ColdStartBenchmarkTest {
+
+	private static final int BOOKS = Integer.getInteger("lms.cold-start.books", 5_000_000);
+	private static final int SEED_CHUNK = 100_000;
+	private static final int RESTARTS = 3;
+	private static final Path DIR = Path.of("target", "cold-start").toAbsolutePath();
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@Test
+	void compareColdAndWarmRestarts() throws Exception {
+		seed();
+		System.out.printf("%-8s %10s %15s %17s%n", "restart", "ready ms", "first page ms", "first cursor ms");
+		measure(false);
+		measure(true);
+	}
+
+	private static void seed() throws Exception {
+		FileSystemUtils.deleteRecursively(DIR);
+		try (ConfigurableApplicationContext app = start(false)) {
+			JdbcTemplate jdbc = app.getBean(JdbcTemplate.class);
+			for (int from = 1; from <= BOOKS; from += SEED_CHUNK) {
+				int to = Math.min(BOOKS, from + SEED_CHUNK - 1);
+				jdbc.update("INSERT INTO book (id, title, author, isbn, isbn13, published_date, version, created_at, updated_at) " +
+						"SELECT X, 'Cold Start Book ' || X, 'Cold Start Author ' || MOD(X, 1000), " +
+						"'978' || LPAD(CAST(X AS VARCHAR), 10, '0'), '978' || LPAD(CAST(X AS VARCHAR), 10, '0'), " +
+						"DATEADD(DAY, MOD(X, 9000), DATE '2000-01-01'), 0, " +
+						"DATEADD(SECOND, X, TIMESTAMP '2020-01-01 00:00:00'), DATEADD(SECOND, X, TIMESTAMP '2020-01-01 00:00:00') " +
+						"FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+			}
+			jdbc.execute("ALTER SEQUENCE book_seq RESTART WITH " + (BOOKS + 1_000));
+			jdbc.execute("ANALYZE TABLE book");
+		}
+		// Indexes the seeded books for search; later starts find the index up to date
+		start(false).close();
+	}
+
+	private void measure(boolean warmup) throws Exception {
+		long[] ready = new long[RESTARTS];
+		long[] firstPage = new long[RESTARTS];
+		long[] firstCursor = new long[RESTARTS];
+		for (int i = 0; i < RESTARTS; i++) {
+			long begin = System.nanoTime();
+			try (ConfigurableApplicationContext app = start(warmup)) {
+				ready[i] = (System.nanoTime() - begin) / 1_000_000;
+				int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+				firstPage[i] = timeGet(port, "/api/books?page=0&size=20");
+				firstCursor[i] = timeGet(port, "/api/books/cursor?size=20");
+			}
+		}
+		System.out.printf("%-8s %10d %15d %17d%n", warmup ? "warm" : "cold", median(ready), median(firstPage), median(firstCursor));
+	}
+
+	// Passed as command-line arguments, which take precedence over the profile's properties
+	private static ConfigurableApplicationContext start(boolean warmup) {
+		return new SpringApplicationBuilder(LmsBackendApplication.class).profiles("persistent").run(
+				"--server.port=0",
+				"--management.server.port=0",
+				"--lms.persistent.dir=" + DIR,
+				"--lms.search.index-dir=" + DIR.resolve("search-index"),
+				"--lms.warmup.enabled=" + warmup,
+				"--logging.level.root=WARN");
+	}
+
+	private long timeGet(int port, String path) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+		long start = System.nanoTime();
+		HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		assertEquals(200, response.statusCode(), path);
+		return millis;
+	}
+
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
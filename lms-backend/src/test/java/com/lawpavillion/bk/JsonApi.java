@@ -0,0 +1,42 @@
+package com.lawpavillion.bk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * JSON requests against the API through MockMvc. Each call checks the status and returns the whole
+ * response envelope, so tests read {@code data} or {@code error} from it themselves.
+ */
+public final class JsonApi {
+
+	private final MockMvc mockMvc;
+	private final ObjectMapper objectMapper;
+
+	public JsonApi(MockMvc mockMvc, ObjectMapper objectMapper) {
+		this.mockMvc = mockMvc;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Sends {@code body} as JSON.
+	 */
+	public JsonNode send(MockHttpServletRequestBuilder request, Object body, ResultMatcher expectedStatus) throws Exception {
+		return read(request
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)), expectedStatus);
+	}
+
+	/**
+	 * Sends the request without a body.
+	 */
+	public JsonNode read(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+		String response = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+				.andExpect(expectedStatus)
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(response);
+	}
+}
@@ -0,0 +1,161 @@
+package com.lawpavillion.bk;
+
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Closed-loop load test of the catalog page endpoint with Tomcat on its platform-thread pool and on virtual threads.
+ * Each client sends its next request as soon as the previous one returns; throughput and p99 latency are reported
+ * for 50, 500 and 5,000 concurrent clients. The caches are off so every request reaches the database.
+ *
+ * Run with: mvn test -Dtest=RequestThreadingLoadTest -Dbenchmarks=true
+ * Add -DargLine=-Djdk.tracePinnedThreads=short to have the JDK report virtual threads pinned to their carrier.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class RequestThreadingLoadTest {
+
+	private static final int[] CLIENTS = {50, 500, 5_000};
+	private static final int CATALOG_SIZE = 2_000;
+	private static final int PAGE_SIZE = 20;
+	private static final Duration WARMUP = Duration.ofSeconds(3);
+	private static final Duration MEASURE = Duration.ofSeconds(10);
+
+	@Test
+	void compareThreadModes() throws Exception {
+		System.out.printf("%-10s %8s %10s %12s %10s %10s %8s %14s%n",
+				"threads", "clients", "requests", "requests/s", "p50 ms", "p99 ms", "errors", "peak threads");
+		for (boolean virtual : new boolean[]{false, true}) {
+			try (ConfigurableApplicationContext app = start(virtual)) {
+				seed(app.getBean(BookService.class));
+				int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+				for (int clients : CLIENTS) {
+					run(virtual ? "virtual" : "platform", port, clients);
+				}
+			}
+		}
+	}
+
+	// Passed as command-line arguments, which take precedence over application.properties
+	private static ConfigurableApplicationContext start(boolean virtual) {
+		return new SpringApplicationBuilder(LmsBackendApplication.class).run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:loadtest-" + (virtual ? "virtual" : "platform"),
+				"--lms.virtual-threads.enabled=" + virtual,
+				"--lms.cache.enabled=false",
+				"--lms.page-cache.enabled=false",
+				"--server.tomcat.max-connections=10000",
+				"--server.tomcat.accept-count=1000",
+				"--logging.level.root=WARN");
+	}
+
+	private static void seed(BookService bookService) {
+		List<BookDto> books = new ArrayList<>(CATALOG_SIZE);
+		for (int i = 0; i < CATALOG_SIZE; i++) {
+			books.add(BookDto.builder()
+					.title("Load Test Book " + i)
+					.author("Load Test Author " + (i % 50))
+					.publishedDate(LocalDate.of(2000, 1, 1).plusDays(i))
+					.build());
+		}
+		assertEquals(CATALOG_SIZE, bookService.addBooks(books).getSucceeded());
+	}
+
+	private static void run(String mode, int port, int clients) throws Exception {
+		HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(30))
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		int pages = CATALOG_SIZE / PAGE_SIZE;
+		AtomicLong errors = new AtomicLong();
+		// Client threads are virtual and not counted, so the peak is the server's (and the JVM's) platform threads
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		threads.resetPeakThreadCount();
+
+		long warmupEnds = System.nanoTime() + WARMUP.toNanos();
+		long measureEnds = warmupEnds + MEASURE.toNanos();
+		List<Future<long[]>> results = new ArrayList<>(clients);
+		// Client threads are virtual too, so the load generator is not what limits 5,000 clients
+		try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < clients; c++) {
+				results.add(pool.submit(() -> {
+					long[] latencies = new long[256];
+					int count = 0;
+					long now;
+					while ((now = System.nanoTime()) < measureEnds) {
+						int page = ThreadLocalRandom.current().nextInt(pages);
+						HttpRequest request = HttpRequest.newBuilder(
+										URI.create("http://localhost:" + port + "/api/books?page=" + page + "&size=" + PAGE_SIZE))
+								.timeout(Duration.ofSeconds(60))
+								.build();
+						try {
+							HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 200) {
+								errors.incrementAndGet();
+								continue;
+							}
+						} catch (Exception e) {
+							errors.incrementAndGet();
+							continue;
+						}
+						long finished = System.nanoTime();
+						// Only requests sent after the warm-up and completed inside the window are counted
+						if (now >= warmupEnds && finished <= measureEnds) {
+							if (count == latencies.length) {
+								latencies = Arrays.copyOf(latencies, count * 2);
+							}
+							latencies[count++] = finished - now;
+						}
+					}
+					return Arrays.copyOf(latencies, count);
+				}));
+			}
+		}
+
+		long[] all = results.stream().map(RequestThreadingLoadTest::join).flatMapToLong(Arrays::stream).sorted().toArray();
+		double seconds = MEASURE.toNanos() / 1e9;
+		System.out.printf("%-10s %8d %10d %12.0f %10.1f %10.1f %8d %14d%n", mode, clients, all.length, all.length / seconds,
+				percentile(all, 0.50), percentile(all, 0.99), errors.get(), threads.getPeakThreadCount());
+		http.close();
+	}
+
+	private static long[] join(Future<long[]> result) {
+		try {
+			return result.get();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static double percentile(long[] sortedNanos, double fraction) {
+		if (sortedNanos.length == 0) {
+			return Double.NaN;
+		}
+		int index = (int) Math.ceil(fraction * sortedNanos.length) - 1;
+		return sortedNanos[Math.max(0, index)] / 1e6;
+	}
+}
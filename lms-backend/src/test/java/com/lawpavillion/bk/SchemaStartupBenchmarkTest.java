@@ -0,0 +1,89 @@
+package com.lawpavillion.bk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Startup time with the schema managed by Hibernate (ddl-auto=update, which reads the database metadata and diffs
+ * it against the mappings on every start) against the Flyway migrations plus ddl-auto=validate. Each mode restarts
+ * against the same file database, as a deployed instance does, and reports the median over the restarts of the
+ * whole startup and of the EntityManagerFactory creation, which includes running the migrations.
+ *
+ * Run with: mvn test -Dtest=SchemaStartupBenchmarkTest -Dbenchmarks=true
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SchemaStartupBenchmarkTest {
+
+	private static final int RESTARTS = 10;
+
+	@Test
+	void compareSchemaManagement() throws Exception {
+		System.out.printf("%-20s %12s %12s%n", "schema", "startup ms", "jpa ms");
+		measure("ddl-auto=update", "--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update");
+		measure("flyway + validate");
+	}
+
+	private static void measure(String mode, String... schemaArgs) throws Exception {
+		Path dir = Path.of("target", "schema-startup", mode.replaceAll("\\W+", "-")).toAbsolutePath();
+		FileSystemUtils.deleteRecursively(dir);
+		// The first start creates the schema; the measured restarts find it in place
+		start(dir, ApplicationStartup.DEFAULT, schemaArgs).close();
+
+		long[] startup = new long[RESTARTS];
+		long[] jpa = new long[RESTARTS];
+		for (int i = 0; i < RESTARTS; i++) {
+			BufferingApplicationStartup steps = new BufferingApplicationStartup(10_000);
+			long begin = System.nanoTime();
+			try (ConfigurableApplicationContext ignored = start(dir, steps, schemaArgs)) {
+				startup[i] = (System.nanoTime() - begin) / 1_000_000;
+				jpa[i] = entityManagerFactoryMillis(steps.getBufferedTimeline());
+			}
+		}
+		Arrays.sort(startup);
+		Arrays.sort(jpa);
+		assertTrue(jpa[RESTARTS / 2] > 0, "no entityManagerFactory step recorded for " + mode);
+		System.out.printf("%-20s %12d %12d%n", mode, startup[RESTARTS / 2], jpa[RESTARTS / 2]);
+	}
+
+	// Passed as command-line arguments, which take precedence over application.properties
+	private static ConfigurableApplicationContext start(Path dir, ApplicationStartup steps, String... schemaArgs) {
+		String[] args = Stream.concat(Stream.of(
+						"--server.port=0",
+						"--management.server.port=0",
+						"--spring.datasource.url=jdbc:h2:file:" + dir.resolve("librarydb"),
+						"--lms.search.index-dir=" + dir.resolve("search-index"),
+						"--logging.level.root=WARN"),
+				Stream.of(schemaArgs)).toArray(String[]::new);
+		return new SpringApplicationBuilder(LmsBackendApplication.class).applicationStartup(steps).run(args);
+	}
+
+	private static long entityManagerFactoryMillis(StartupTimeline timeline) {
+		return timeline.getEvents().stream()
+				.filter(event -> event.getStartupStep().getName().equals("spring.beans.instantiate"))
+				.filter(event -> isBean(event.getStartupStep(), "entityManagerFactory"))
+				.mapToLong(event -> event.getDuration().toMillis())
+				.sum();
+	}
+
+	private static boolean isBean(StartupStep step, String beanName) {
+		for (StartupStep.Tag tag : step.getTags()) {
+			if (tag.getKey().equals("beanName") && tag.getValue().equals(beanName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
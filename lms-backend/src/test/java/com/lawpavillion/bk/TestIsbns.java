@@ -0,0 +1,41 @@
+package com.lawpavillion.bk;
+
+import com.lawpavillion.isbn.IsbnChecksum;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Valid, distinct ISBN-13s for test data. The backend rejects ISBNs whose check digit is wrong
+ * and ISBNs another book already has, so fixtures cannot just count.
+ */
+public final class TestIsbns {
+
+	private static final AtomicLong NEXT = new AtomicLong();
+
+	private TestIsbns() {
+	}
+
+	/**
+	 * 978, then {@code n} zero-padded to nine digits, then the check digit.
+	 */
+	public static String isbn13(long n) {
+		return isbn13(978, n);
+	}
+
+	/**
+	 * {@code prefix} (978 or 979), then {@code n} zero-padded to nine digits, then the check digit.
+	 * ISBNs with different prefixes never collide, so a test can keep the ones it adds apart from seeded ones.
+	 */
+	public static String isbn13(int prefix, long n) {
+		String first12 = String.format("%03d%09d", prefix, n);
+		return first12 + IsbnChecksum.checkDigit13(first12);
+	}
+
+	/**
+	 * A 979 ISBN not handed out before in this JVM. Test classes with the same configuration share one
+	 * application context and database, so books they add take their ISBNs from here.
+	 */
+	public static String next() {
+		return isbn13(979, NEXT.incrementAndGet());
+	}
+}
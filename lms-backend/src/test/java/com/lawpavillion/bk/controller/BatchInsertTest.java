@@ -0,0 +1,83 @@
+package com.lawpavillion.bk.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.TestIsbns;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/books/batch reports every item on its own: a bad item is skipped with its errors
+ * and does not keep the good ones around it from being stored.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchInsertTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void reportsAResultForEveryItem() throws Exception {
+		String body = objectMapper.writeValueAsString(Arrays.asList(
+				Map.of("title", "Batch Book One", "author", "Batch Test", "isbn", TestIsbns.next()),
+				Map.of("title", " ", "author", "Batch Test"),
+				null,
+				Map.of("title", "Batch Book Bad Isbn", "author", "Batch Test", "isbn", "9780306406158"),
+				Map.of("title", "Batch Book Two", "author", "Batch Test")));
+
+		String response = mockMvc.perform(post("/api/books/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.accept(MediaType.APPLICATION_JSON)
+						.content(body))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode result = objectMapper.readTree(response).get("data");
+
+		assertEquals(5, result.get("total").asInt());
+		assertEquals(2, result.get("succeeded").asInt());
+		assertEquals(3, result.get("failed").asInt());
+
+		JsonNode items = result.get("items");
+		assertEquals(5, items.size());
+		for (int i = 0; i < items.size(); i++) {
+			assertEquals(i, items.get(i).get("index").asInt());
+		}
+		assertFalse(items.get(1).get("success").asBoolean());
+		assertTrue(items.get(1).get("errors").has("title"));
+		assertFalse(items.get(2).get("success").asBoolean());
+		assertTrue(items.get(2).get("errors").has("book"));
+		assertFalse(items.get(3).get("success").asBoolean());
+		assertTrue(items.get(3).get("errors").has("isbn"));
+
+		assertStored(items.get(0), "Batch Book One");
+		assertStored(items.get(4), "Batch Book Two");
+	}
+
+	private void assertStored(JsonNode item, String title) throws Exception {
+		assertTrue(item.get("success").asBoolean());
+		assertFalse(item.has("errors"));
+		String response = mockMvc.perform(get("/api/books/{id}", item.get("id").asLong())
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertEquals(title, objectMapper.readTree(response).get("data").get("title").asText());
+	}
+}
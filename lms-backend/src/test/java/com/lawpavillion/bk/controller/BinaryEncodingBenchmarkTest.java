@@ -0,0 +1,135 @@
+package com.lawpavillion.bk.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.lawpavillion.bk.TestIsbns;
+import com.lawpavillion.bk.dto.ApiResponse;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.PageResponse;
+import com.lawpavillion.bk.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JSON against CBOR for 25- and 1,000-book catalog pages: body size as served for each Accept header,
+ * and mean time to encode the page on the server and to decode it the way the desktop client does
+ * (Gson into maps for JSON, Jackson into maps for CBOR). Jackson decoding JSON is listed for reference.
+ *
+ * Run with: mvn test -Dtest=BinaryEncodingBenchmarkTest -Dbenchmarks=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class BinaryEncodingBenchmarkTest {
+
+	private static final int CATALOG_SIZE = 1_000;
+	private static final int[] PAGE_SIZES = {25, 1000};
+	private static final int BOOKS_PER_RUN = 500_000;
+
+	@Autowired
+	private BookService bookService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MappingJackson2CborHttpMessageConverter cborConverter;
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	private final Gson gson = new Gson();
+
+	@Test
+	void cborIsSmallerAndCheaperToDecode() throws Exception {
+		List<BookDto> books = new ArrayList<>(CATALOG_SIZE);
+		for (int i = 0; i < CATALOG_SIZE; i++) {
+			books.add(BookDto.builder()
+					.title("The Collected Essays on Software Design, Volume " + i)
+					.author("Author Number " + (i % 37))
+					.isbn(TestIsbns.isbn13(i * 7_919L))
+					.publishedDate(LocalDate.of(1990, 1, 1).plusDays(i * 7L))
+					.build());
+		}
+		assertEquals(CATALOG_SIZE, bookService.addBooks(books).getSucceeded());
+
+		ObjectMapper cbor = cborConverter.getObjectMapper();
+
+		System.out.printf("%-24s %6s %10s %12s %12s%n", "encoding", "size", "bytes", "encode us", "decode us");
+		for (int size : PAGE_SIZES) {
+			int iterations = Math.max(20, BOOKS_PER_RUN / size);
+			ApiResponse<PageResponse<BookDto>> page = ApiResponse.<PageResponse<BookDto>>builder()
+					.success(true)
+					.message("All books delivered successfully!")
+					.data(PageResponse.of(bookService.getAllBooks(PageRequest.of(0, size, Sort.by("updatedAt").descending()))))
+					.timestamp(LocalDateTime.now())
+					.build();
+
+			byte[] json = fetch("/api/books?size=" + size, "application/json");
+			byte[] binary = fetch("/api/books?size=" + size, "application/cbor");
+
+			double jsonEncode = time(iterations, () -> objectMapper.writeValueAsBytes(page));
+			double cborEncode = time(iterations, () -> cbor.writeValueAsBytes(page));
+			double gsonDecode = time(iterations, () -> gson.fromJson(new String(json, StandardCharsets.UTF_8), Map.class));
+			double jacksonDecode = time(iterations, () -> objectMapper.readValue(json, Map.class));
+			double cborDecode = time(iterations, () -> cbor.readValue(binary, Map.class));
+
+			print("JSON (Gson decode)", size, json.length, jsonEncode, gsonDecode);
+			print("JSON (Jackson decode)", size, json.length, jsonEncode, jacksonDecode);
+			print("CBOR", size, binary.length, cborEncode, cborDecode);
+
+			assertEquals(size, ((List<?>) ((Map<?, ?>) cbor.readValue(binary, Map.class).get("data")).get("content")).size());
+			assertTrue(binary.length < json.length, "CBOR should be smaller than JSON at page size " + size);
+			assertTrue(cborDecode < gsonDecode, "CBOR should decode faster than Gson parses JSON at page size " + size);
+		}
+	}
+
+	// Uncompressed body as served for the Accept header, checking the server answered in that type
+	private byte[] fetch(String path, String accept) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Accept", accept)
+				.build();
+		HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, response.statusCode());
+		assertEquals(accept, response.headers().firstValue("Content-Type").orElse(""));
+		return response.body();
+	}
+
+	private static double time(int iterations, Callable<?> task) throws Exception {
+		// Warm up the JIT before measuring
+		for (int i = 0; i < iterations; i++) {
+			task.call();
+		}
+		long started = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			task.call();
+		}
+		return (System.nanoTime() - started) / 1_000.0 / iterations;
+	}
+
+	private static void print(String name, int size, int bytes, double encodeMicros, double decodeMicros) {
+		System.out.printf("%-24s %6d %10d %12.1f %12.1f%n", name, size, bytes, encodeMicros, decodeMicros);
+	}
+}
@@ -0,0 +1,81 @@
+package com.lawpavillion.bk.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.JsonApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * DELETE /api/books removes the listed books that exist and names the ids that matched nothing,
+ * each id once however often it was sent.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkDeleteTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private JsonApi api;
+
+	@BeforeEach
+	void setUp() {
+		api = new JsonApi(mockMvc, objectMapper);
+	}
+
+	@Test
+	void splitsRequestedIdsIntoDeletedAndMissing() throws Exception {
+		long first = add("Bulk Delete One");
+		long second = add("Bulk Delete Two");
+		long kept = add("Bulk Delete Kept");
+		long countBefore = count();
+
+		JsonNode result = api.send(delete("/api/books"),
+				Arrays.asList(first, -1L, second, first, null, Long.MAX_VALUE), status().isOk()).get("data");
+
+		assertEquals(Set.of(first, second), new HashSet<>(longs(result.get("deleted"))));
+		assertEquals(List.of(-1L, Long.MAX_VALUE), longs(result.get("missing")));
+		assertEquals(countBefore - 2, count());
+
+		for (long id : new long[]{first, second}) {
+			api.read(get("/api/books/{id}", id), status().isNotFound());
+		}
+		api.read(get("/api/books/{id}", kept), status().isOk());
+	}
+
+	private long add(String title) throws Exception {
+		return api.send(post("/api/books"), Map.of("title", title, "author", "Bulk Delete Test"), status().isCreated())
+				.get("data").get("id").asLong();
+	}
+
+	private long count() throws Exception {
+		return api.read(get("/api/books/count"), status().isOk()).get("data").asLong();
+	}
+
+	private static List<Long> longs(JsonNode array) {
+		List<Long> values = new ArrayList<>();
+		array.forEach(value -> values.add(value.asLong()));
+		return values;
+	}
+}
@@ -0,0 +1,129 @@
+package com.lawpavillion.bk.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks a catalog of seven books three at a time with the cursors each page returns.
+ * Book n has id n and was updated n minutes after the first, so newest-first order is 7, 6, ..., 1.
+ * The catalog has a database of its own, as the pages depend on every book in it.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:cursorpages",
+		"lms.cache.enabled=false",
+		"lms.page-cache.enabled=false"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CursorPaginationTest {
+
+	private static final int BOOKS = 7;
+	private static final int PAGE_SIZE = 3;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@BeforeAll
+	void seed() {
+		jdbc.update("INSERT INTO book (id, title, author, version, created_at, updated_at) " +
+				"SELECT X, 'Cursor Book ' || X, 'Cursor Test', 0, TIMESTAMP '2020-01-01 00:00:00', " +
+				"DATEADD(MINUTE, X, TIMESTAMP '2020-01-01 00:00:00') FROM SYSTEM_RANGE(1, " + BOOKS + ")");
+	}
+
+	@Test
+	void walksForwardToTheOldestBook() throws Exception {
+		JsonNode first = page(null, false);
+		assertEquals(List.of(7L, 6L, 5L), ids(first));
+		assertTrue(first.get("prevCursor").isNull());
+
+		JsonNode second = page(first.get("nextCursor").asText(), false);
+		assertEquals(List.of(4L, 3L, 2L), ids(second));
+
+		JsonNode last = page(second.get("nextCursor").asText(), false);
+		assertEquals(List.of(1L), ids(last));
+		assertTrue(last.get("nextCursor").isNull());
+	}
+
+	@Test
+	void walksBackwardNewestFirstToTheNewestBook() throws Exception {
+		JsonNode second = page(page(null, false).get("nextCursor").asText(), false);
+		JsonNode last = page(second.get("nextCursor").asText(), false);
+
+		// Backward pages are read oldest-first and reversed, so they list newest-first like forward ones
+		JsonNode back = page(last.get("prevCursor").asText(), false);
+		assertEquals(ids(second), ids(back));
+		assertEquals(second.get("nextCursor").asText(), back.get("nextCursor").asText());
+
+		JsonNode newest = page(back.get("prevCursor").asText(), false);
+		assertEquals(List.of(7L, 6L, 5L), ids(newest));
+		assertTrue(newest.get("prevCursor").isNull());
+		assertEquals(List.of(4L, 3L, 2L), ids(page(newest.get("nextCursor").asText(), false)));
+	}
+
+	@Test
+	void fromEndStartsAtTheOldestBooks() throws Exception {
+		JsonNode oldest = page(null, true);
+		assertEquals(List.of(3L, 2L, 1L), ids(oldest));
+		assertTrue(oldest.get("nextCursor").isNull());
+
+		JsonNode newer = page(oldest.get("prevCursor").asText(), false);
+		assertEquals(List.of(6L, 5L, 4L), ids(newer));
+		assertEquals(List.of(3L, 2L, 1L), ids(page(newer.get("nextCursor").asText(), false)));
+
+		JsonNode newest = page(newer.get("prevCursor").asText(), false);
+		assertEquals(List.of(7L), ids(newest));
+		assertTrue(newest.get("prevCursor").isNull());
+	}
+
+	@Test
+	void rejectsAMalformedCursor() throws Exception {
+		for (String cursor : new String[]{"%%%", "not-a-cursor"}) {
+			mockMvc.perform(request(cursor, false))
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	private JsonNode page(String cursor, boolean fromEnd) throws Exception {
+		String body = mockMvc.perform(request(cursor, fromEnd))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("data");
+	}
+
+	private static MockHttpServletRequestBuilder request(String cursor, boolean fromEnd) {
+		MockHttpServletRequestBuilder request = get("/api/books/cursor")
+				.param("size", String.valueOf(PAGE_SIZE))
+				.param("fromEnd", String.valueOf(fromEnd))
+				.accept(MediaType.APPLICATION_JSON);
+		return cursor == null ? request : request.param("cursor", cursor);
+	}
+
+	private static List<Long> ids(JsonNode page) {
+		List<Long> ids = new ArrayList<>();
+		page.get("content").forEach(book -> ids.add(book.get("id").asLong()));
+		return ids;
+	}
+}
@@ -0,0 +1,131 @@
+package com.lawpavillion.bk.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.JsonApi;
+import com.lawpavillion.bk.TestIsbns;
+import com.lawpavillion.bk.service.IsbnBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A book's ISBN is unique however it is written: every write path answers a duplicate with 409 and the book
+ * that holds the ISBN, or, in a batch, with a per-item error.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DuplicateIsbnTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private JsonApi api;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private IsbnBloomFilter isbnFilter;
+
+	@BeforeEach
+	void setUp() {
+		api = new JsonApi(mockMvc, objectMapper);
+	}
+
+	@Test
+	void addingAnIsbnAnotherBookHasIsAConflict() throws Exception {
+		String isbn = TestIsbns.next();
+		long existing = add(isbn);
+
+		// Same ISBN-13, hyphenated and prefixed
+		JsonNode error = api.send(post("/api/books"), book("Second Copy", "ISBN-13: " + hyphenated(isbn)), status().isConflict());
+		assertDuplicateOf(existing, error);
+	}
+
+	@Test
+	void theUniqueIndexCatchesADuplicateTheServiceDidNotSee() throws Exception {
+		// Stored behind the service's back, as a concurrent request would between the duplicate check and the insert
+		String isbn = TestIsbns.next();
+		long existing = jdbc.queryForObject("SELECT NEXT VALUE FOR book_seq", Long.class);
+		jdbc.update("INSERT INTO book (id, title, author, isbn, isbn13, version, created_at, updated_at) " +
+				"VALUES (?, 'Inserted Directly', 'Duplicate Test', ?, ?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+				existing, isbn, isbn);
+		assertFalse(isbnFilter.mightContain(isbn), "the duplicate check must be skipped for the insert to reach the index");
+
+		JsonNode error = api.send(post("/api/books"), book("Racing Copy", isbn), status().isConflict());
+		assertDuplicateOf(existing, error);
+	}
+
+	@Test
+	void patchingToAnIsbnAnotherBookHasIsAConflict() throws Exception {
+		String taken = TestIsbns.next();
+		long existing = add(taken);
+		long edited = add(TestIsbns.next());
+
+		JsonNode error = api.send(patch("/api/books/{id}", edited), Map.of("isbn", hyphenated(taken)), status().isConflict());
+		assertDuplicateOf(existing, error);
+	}
+
+	@Test
+	void batchReportsDuplicatesPerItem() throws Exception {
+		String taken = TestIsbns.next();
+		add(taken);
+		String fresh = TestIsbns.next();
+
+		JsonNode result = api.send(post("/api/books/batch"), List.of(
+				book("First Of Two", fresh),
+				book("Already In Catalog", taken),
+				book("Second Of Two", hyphenated(fresh)),
+				book("No Isbn", null)), status().isOk()).get("data");
+
+		assertEquals(4, result.get("total").asInt());
+		assertEquals(2, result.get("succeeded").asInt());
+		JsonNode items = result.get("items");
+		assertTrue(items.get(0).get("success").asBoolean());
+		assertFalse(items.get(1).get("success").asBoolean());
+		assertTrue(items.get(1).get("errors").get("isbn").asText().contains("already exists"));
+		// Duplicates within the request are caught before anything is written, and point at the first occurrence
+		assertFalse(items.get(2).get("success").asBoolean());
+		assertEquals("Same ISBN as item 0", items.get(2).get("errors").get("isbn").asText());
+		assertTrue(items.get(3).get("success").asBoolean());
+	}
+
+	private void assertDuplicateOf(long existing, JsonNode error) {
+		assertEquals("Duplicate ISBN", error.get("error").asText());
+		assertEquals(existing, error.get("data").get("id").asLong());
+	}
+
+	private long add(String isbn) throws Exception {
+		return api.send(post("/api/books"), book("Duplicate Test Book", isbn), status().isCreated())
+				.get("data").get("id").asLong();
+	}
+
+	private static Map<String, Object> book(String title, String isbn) {
+		return isbn == null
+				? Map.of("title", title, "author", "Duplicate Test")
+				: Map.of("title", title, "author", "Duplicate Test", "isbn", isbn);
+	}
+
+	// 9791234567890 -> 979-1234-56789-0
+	private static String hyphenated(String isbn13) {
+		return isbn13.substring(0, 3) + "-" + isbn13.substring(3, 7) + "-" + isbn13.substring(7, 12) + "-" + isbn13.substring(12);
+	}
+}
@@ -0,0 +1,117 @@
+package com.lawpavillion.bk.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.TestIsbns;
+import com.lawpavillion.bk.dto.ApiResponse;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes on the wire for one 100-book catalog page: the former envelope around a serialized Spring Data Page,
+ * the compact PageResponse, a title/author sparse fieldset, each with and without gzip.
+ * The former envelope is rendered in-process; the others are fetched from the running server.
+ *
+ * Run with: mvn test -Dtest=ListResponseSizeBenchmarkTest -Dbenchmarks=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ListResponseSizeBenchmarkTest {
+
+	private static final int PAGE_SIZE = 100;
+
+	@Autowired
+	private BookService bookService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@Test
+	void compactPagesAreSmaller() throws Exception {
+		List<BookDto> books = new ArrayList<>(PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			books.add(BookDto.builder()
+					.title("The Collected Essays on Software Design, Volume " + i)
+					.author("Author Number " + (i % 37))
+					.isbn(TestIsbns.isbn13(i * 7_919L))
+					.publishedDate(LocalDate.of(1990, 1, 1).plusDays(i * 97L))
+					.build());
+		}
+		assertEquals(PAGE_SIZE, bookService.addBooks(books).getSucceeded());
+
+		Page<BookDto> page = bookService.getAllBooks(PageRequest.of(0, PAGE_SIZE, Sort.by("updatedAt").descending()));
+		byte[] legacy = objectMapper.writeValueAsBytes(ApiResponse.<Page<BookDto>>builder()
+				.success(true)
+				.message("All books delivered successfully!")
+				.data(page)
+				.timestamp(LocalDateTime.now())
+				.build());
+		int compact = fetch("/api/books?size=" + PAGE_SIZE, false);
+		int compactGzip = fetch("/api/books?size=" + PAGE_SIZE, true);
+		int sparse = fetch("/api/books?size=" + PAGE_SIZE + "&fields=title,author", false);
+		int sparseGzip = fetch("/api/books?size=" + PAGE_SIZE + "&fields=title,author", true);
+
+		System.out.printf("%-36s %10s %10s%n", "100-book page", "bytes", "vs before");
+		print("Page<BookDto> envelope (before)", legacy.length, legacy.length);
+		print("Page<BookDto> envelope, gzip", gzip(legacy).length, legacy.length);
+		print("PageResponse", compact, legacy.length);
+		print("PageResponse, gzip", compactGzip, legacy.length);
+		print("PageResponse, fields=title,author", sparse, legacy.length);
+		print("PageResponse, fields, gzip", sparseGzip, legacy.length);
+
+		assertTrue(compact < legacy.length, "the compact page should be smaller than the Page envelope");
+		assertTrue(sparse < compact, "a sparse fieldset should be smaller than the full page");
+		assertTrue(compactGzip * 3 < compact, "gzip should shrink a 100-book page at least threefold");
+	}
+
+	// Size of the body as received, i.e. compressed when the server used gzip
+	private int fetch(String path, boolean acceptGzip) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+		if (acceptGzip) {
+			request.header("Accept-Encoding", "gzip");
+		}
+		HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, response.statusCode());
+		assertEquals(acceptGzip, response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent());
+		return response.body().length;
+	}
+
+	private static byte[] gzip(byte[] body) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		return out.toByteArray();
+	}
+
+	private static void print(String name, int bytes, int before) {
+		System.out.printf("%-36s %10d %9.0f%%%n", name, bytes, 100.0 * bytes / before);
+	}
+}
@@ -0,0 +1,85 @@
+package com.lawpavillion.bk.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.JsonApi;
+import com.lawpavillion.bk.TestIsbns;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH /api/books/{id} changes only the fields present in the request body.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PatchBookTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private JsonApi api;
+
+	@BeforeEach
+	void setUp() {
+		api = new JsonApi(mockMvc, objectMapper);
+	}
+
+	@Test
+	void leavesAbsentFieldsUntouched() throws Exception {
+		String isbn = TestIsbns.next();
+		JsonNode added = api.send(post("/api/books"), Map.of(
+				"title", "Unpatched Title",
+				"author", "Patch Test",
+				"isbn", isbn,
+				"publishedDate", "2005-06-07"), status().isCreated()).get("data");
+		long id = added.get("id").asLong();
+		long version = added.get("version").asLong();
+
+		JsonNode patched = api.send(patch("/api/books/{id}", id), Map.of("title", "Patched Title"), status().isOk()).get("data");
+		assertBook(patched, "Patched Title", isbn, "2005-06-07", version + 1);
+		assertBook(fetch(id), "Patched Title", isbn, "2005-06-07", version + 1);
+
+		patched = api.send(patch("/api/books/{id}", id), Map.of("publishedDate", "1999-12-31"), status().isOk()).get("data");
+		assertBook(patched, "Patched Title", isbn, "1999-12-31", version + 2);
+		assertBook(fetch(id), "Patched Title", isbn, "1999-12-31", version + 2);
+	}
+
+	@Test
+	void anEmptyPatchChangesNothing() throws Exception {
+		JsonNode added = api.send(post("/api/books"), Map.of("title", "Never Patched", "author", "Patch Test"), status().isCreated()).get("data");
+		long id = added.get("id").asLong();
+
+		JsonNode patched = api.send(patch("/api/books/{id}", id), Map.of(), status().isOk()).get("data");
+		assertEquals("Never Patched", patched.get("title").asText());
+		assertEquals("Patch Test", patched.get("author").asText());
+		// No UPDATE was issued, so the version did not move
+		assertEquals(added.get("version").asLong(), fetch(id).get("version").asLong());
+	}
+
+	private void assertBook(JsonNode book, String title, String isbn, String publishedDate, long version) {
+		assertEquals(title, book.get("title").asText());
+		assertEquals("Patch Test", book.get("author").asText());
+		assertEquals(isbn, book.get("isbn").asText());
+		assertEquals(publishedDate, book.get("publishedDate").asText());
+		assertEquals(version, book.get("version").asLong());
+	}
+
+	private JsonNode fetch(long id) throws Exception {
+		return api.read(get("/api/books/{id}", id), status().isOk()).get("data");
+	}
+}
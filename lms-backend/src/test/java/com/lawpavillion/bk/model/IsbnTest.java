@@ -0,0 +1,40 @@
+package com.lawpavillion.bk.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IsbnTest {
+
+	@Test
+	void convertsIsbn10ToIsbn13() {
+		assertEquals("9780306406157", Isbn.toIsbn13("0306406152"));
+		// The ISBN-10 check digit, X included, is replaced by the recomputed ISBN-13 one
+		assertEquals("9780804429573", Isbn.toIsbn13("080442957X"));
+	}
+
+	@Test
+	void mapsEverySpellingOfAnIsbnToOneValue() {
+		for (String isbn : new String[]{
+				"9780306406157", "978-0-306-40615-7", "978 0 306 40615 7", "ISBN-13: 978-0-306-40615-7",
+				"0306406152", "0-306-40615-2", "ISBN 0-306-40615-2", "ISBN-10: 0306406152"}) {
+			assertEquals("9780306406157", Isbn.toIsbn13(isbn), isbn);
+		}
+	}
+
+	@Test
+	void keeps979Isbns() {
+		assertEquals("9791090636071", Isbn.toIsbn13("979-10-90636-07-1"));
+	}
+
+	@Test
+	void rejectsWhatTheValidatorRejects() {
+		assertNull(Isbn.toIsbn13(null));
+		assertNull(Isbn.toIsbn13(""));
+		assertNull(Isbn.toIsbn13("9780306406158"));
+		assertNull(Isbn.toIsbn13("0306406153"));
+		assertNull(Isbn.toIsbn13("080442957x"));
+		assertNull(Isbn.toIsbn13("isbn 0306406152"));
+	}
+}
@@ -0,0 +1,417 @@
+package com.lawpavillion.bk.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.TestIsbns;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.metrics.StatementCounter;
+import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.bk.search.BookSearchIndex;
+import com.lawpavillion.bk.service.BookService;
+import com.lawpavillion.bk.service.CatalogCounter;
+import com.lawpavillion.bk.service.IsbnIndexBootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query-plan regression suite over a seeded catalog of 1M books (set -Dlms.query-plans.rows to change it).
+ * Every BookRepository query is run, the SQL Hibernate generated for it is captured, and H2's EXPLAIN ANALYZE
+ * of that SQL must show the intended index, the ORDER BY served by the index rather than a sort, and no more
+ * rows scanned than the budget. streamAll and streamIsbn13s read the whole table by design; only the order of
+ * streamAll is checked. The REST calls are then run through MockMvc and the SQL statements each one issues are
+ * counted: more than the call needs, or the same statement twice, is an N+1 or a redundant findById/existsById.
+ * The caches are off so every query reaches the database.
+ *
+ * Run with: mvn test -Dtest=BookQueryPlanTest -Dqueryplans=true
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:queryplans",
+		"lms.cache.enabled=false",
+		"lms.page-cache.enabled=false"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "queryplans", matches = "true")
+class BookQueryPlanTest {
+
+	private static final int ROWS = Integer.getInteger("lms.query-plans.rows", 1_000_000);
+	private static final int SEED_CHUNK = 100_000;
+	private static final String SEEDED_ISBN13_SQL = seededIsbn13Sql();
+	private static final int PAGE_SIZE = 20;
+	// A page or cursor query reads about the page it returns, never a slice of the catalog
+	private static final int PAGE_SCAN_BUDGET = 4 * PAGE_SIZE;
+	private static final LocalDateTime FIRST_UPDATE = LocalDateTime.of(2020, 1, 1, 0, 0);
+	// H2 names the primary key's index itself, e.g. PRIMARY_KEY_1F
+	private static final String PRIMARY_KEY = "PRIMARY_KEY_\\w+";
+	private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+	private static final Pattern DELTA_TABLE = Pattern.compile("(?is).*\\bOLD TABLE \\((.*)\\)\\s*");
+
+	@Autowired
+	private BookRepository bookRepo;
+
+	@Autowired
+	private BookService bookService;
+
+	@Autowired
+	private BookSearchIndex searchIndex;
+
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@Autowired
+	private IsbnIndexBootstrap isbnIndexBootstrap;
+
+	@Autowired
+	private CatalogCounter catalogCounter;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final AtomicInteger nextIsbn = new AtomicInteger();
+
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	// Book n has id n, ISBN TestIsbns.isbn13(n) and was last updated n seconds after FIRST_UPDATE
+	@BeforeAll
+	void seed() {
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(transactionManager);
+
+		for (int from = 1; from <= ROWS; from += SEED_CHUNK) {
+			int to = Math.min(ROWS, from + SEED_CHUNK - 1);
+			jdbc.update("INSERT INTO book (id, title, author, isbn, isbn13, published_date, version, created_at, updated_at) " +
+					"SELECT X, 'Query Plan Book ' || X, 'Query Plan Author ' || MOD(X, 1000), " +
+					SEEDED_ISBN13_SQL + ", " + SEEDED_ISBN13_SQL + ", " +
+					"DATEADD(DAY, MOD(X, 9000), DATE '2000-01-01'), 0, " +
+					"DATEADD(SECOND, X, TIMESTAMP '2020-01-01 00:00:00'), DATEADD(SECOND, X, TIMESTAMP '2020-01-01 00:00:00') " +
+					"FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+		}
+		// New books get ids past the seeded ones; ANALYZE gives the planner real selectivities
+		jdbc.execute("ALTER SEQUENCE book_seq RESTART WITH " + (ROWS + 1_000));
+		jdbc.execute("ANALYZE TABLE book");
+		// The rows went in behind the application's back: reload the ISBN filter and the count from them
+		isbnIndexBootstrap.run(new DefaultApplicationArguments());
+		catalogCounter.reconcile();
+
+		readOnly.executeWithoutResult(status -> searchIndex.indexAll(bookRepo.findAllById(ids(1, 2 * PAGE_SIZE))));
+	}
+
+	// ===== Repository query plans =====
+
+	@Test
+	void catalogPagesAreReadInUpdatedAtIndexOrder() {
+		PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by("updatedAt").descending());
+		analyze(() -> bookRepo.findDtosBy(page), PAGE_SIZE + 1)
+				.uses("IDX_BOOK_UPDATED_AT_ID").sortedByIndex().scansAtMost(PAGE_SCAN_BUDGET);
+		analyze(() -> bookRepo.findAllBy(page), PAGE_SIZE + 1)
+				.uses("IDX_BOOK_UPDATED_AT_ID").sortedByIndex().scansAtMost(PAGE_SCAN_BUDGET);
+	}
+
+	@Test
+	void firstCursorPagesAreReadFromTheMatchingIndex() {
+		PageRequest limit = PageRequest.of(0, PAGE_SIZE + 1);
+		analyze(() -> bookRepo.findNewest(limit), PAGE_SIZE + 1)
+				.uses("IDX_BOOK_UPDATED_AT_ID").sortedByIndex().scansAtMost(PAGE_SCAN_BUDGET);
+		// H2 serves the ascending ORDER BY from the descending index without marking it index-sorted,
+		// so only the index and the rows read are checked
+		analyze(() -> bookRepo.findOldest(limit), PAGE_SIZE + 1)
+				.uses("IDX_BOOK_UPDATED_AT_ID").scansAtMost(PAGE_SCAN_BUDGET);
+	}
+
+	@Test
+	void cursorPagesSeekToTheCursor() {
+		long id = ROWS / 2;
+		LocalDateTime updatedAt = FIRST_UPDATE.plusSeconds(id);
+		PageRequest limit = PageRequest.of(0, PAGE_SIZE + 1);
+		analyze(() -> bookRepo.findOlderThan(updatedAt, id, limit), updatedAt, updatedAt, updatedAt, id, PAGE_SIZE + 1)
+				.uses("IDX_BOOK_UPDATED_AT_ID").sortedByIndex().scansAtMost(PAGE_SCAN_BUDGET);
+		analyze(() -> bookRepo.findNewerThan(updatedAt, id, limit), updatedAt, updatedAt, updatedAt, id, PAGE_SIZE + 1)
+				.uses("IDX_BOOK_UPDATED_AT_ID").scansAtMost(PAGE_SCAN_BUDGET);
+	}
+
+	@Test
+	void isbnLookupsUseTheUniqueIndex() {
+		String isbn13 = seededIsbn13(ROWS / 2);
+		analyze(() -> bookRepo.findByIsbn13(isbn13), isbn13)
+				.uses("UK_BOOK_ISBN13").scansAtMost(2);
+
+		List<String> isbn13s = ids(ROWS / 2, PAGE_SIZE).stream().map(BookQueryPlanTest::seededIsbn13).toList();
+		analyze(() -> bookRepo.findExistingIsbn13s(isbn13s), isbn13s.toArray())
+				.uses("UK_BOOK_ISBN13").scansAtMost(PAGE_SCAN_BUDGET);
+	}
+
+	@Test
+	void idLookupsUseThePrimaryKey() {
+		long id = ROWS / 2;
+		analyze(() -> bookRepo.findById(id), id)
+				.uses(PRIMARY_KEY).scansAtMost(2);
+
+		List<Long> ids = ids(ROWS / 2, PAGE_SIZE);
+		analyze(() -> bookRepo.findAllById(ids), ids.toArray())
+				.uses(PRIMARY_KEY).scansAtMost(PAGE_SCAN_BUDGET);
+	}
+
+	@Test
+	void bulkDeleteUsesThePrimaryKey() {
+		// Ids past the catalog, and the transaction is rolled back, so nothing is deleted
+		List<Long> ids = ids(ROWS + 100_000L, PAGE_SIZE);
+		explain(() -> bookRepo.deleteAllByIdInReturningIds(ids), ids.toArray())
+				.uses(PRIMARY_KEY);
+	}
+
+	@Test
+	void exportStreamsInPrimaryKeyOrderWithoutSorting() {
+		explain(() -> {
+			try (Stream<Book> books = bookRepo.streamAll()) {
+				books.findFirst();
+			}
+		}).sortedByIndex();
+	}
+
+	// ===== Statements per REST call =====
+
+	@Test
+	void listPagesRunOneStatementWhateverTheirSize() throws Exception {
+		for (int size : new int[]{PAGE_SIZE, 100}) {
+			assertRoundTrips(1, get("/api/books").param("size", String.valueOf(size)));
+			assertRoundTrips(1, get("/api/books/slice").param("size", String.valueOf(size)));
+		}
+	}
+
+	@Test
+	void cursorPagesRunOneStatement() throws Exception {
+		String cursor = assertRoundTrips(1, get("/api/books/cursor").param("size", String.valueOf(PAGE_SIZE)))
+				.body().at("/data/nextCursor").asText();
+		assertRoundTrips(1, get("/api/books/cursor").param("cursor", cursor).param("size", String.valueOf(PAGE_SIZE)));
+		assertRoundTrips(1, get("/api/books/cursor").param("fromEnd", "true").param("size", String.valueOf(PAGE_SIZE)));
+	}
+
+	@Test
+	void singleBookReadsRunOneStatement() throws Exception {
+		long id = ROWS / 2;
+		assertRoundTrips(1, get("/api/books/{id}", id));
+		assertRoundTrips(1, get("/api/books/isbn/{isbn}", seededIsbn13(id)));
+	}
+
+	@Test
+	void searchLoadsItsHitsInOneStatement() throws Exception {
+		assertRoundTrips(1, get("/api/books/search").param("query", "Query Plan").param("size", String.valueOf(PAGE_SIZE)));
+	}
+
+	@Test
+	void writesReadTheBookOnce() throws Exception {
+		// Sequence call (at most once per 50 ids), duplicate probe if the Bloom filter is unsure, insert
+		assertRoundTrips(3, post("/api/books")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(bookJson("Added Book", newIsbn()))));
+
+		BookDto book = addBook();
+		assertRoundTrips(2, put("/api/books/{id}", book.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(bookJson("Updated Book", book.getIsbn()))));
+		assertRoundTrips(2, patch("/api/books/{id}", book.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(Map.of("title", "Patched Book"))));
+		assertRoundTrips(2, delete("/api/books/{id}", book.getId()));
+	}
+
+	@Test
+	void bulkDeleteRunsOneStatementPerChunk() throws Exception {
+		// The DELETE returns the ids it removed, so the missing ones need no lookup of their own
+		Call call = assertRoundTrips(1, delete("/api/books")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(List.of(addBook().getId(), addBook().getId(), -1L))));
+		assertEquals(2, call.body().get("data").get("deleted").size());
+		assertEquals(-1L, call.body().get("data").get("missing").get(0).asLong());
+	}
+
+	// ===== Helpers =====
+
+	// EXPLAIN ANALYZE, in a read-only transaction
+	private Plan analyze(Runnable query, Object... params) {
+		return plan("EXPLAIN ANALYZE ", readOnly, query, params);
+	}
+
+	// EXPLAIN only, in a transaction that is rolled back: for writes and for reads of the whole table
+	private Plan explain(Runnable query, Object... params) {
+		return plan("EXPLAIN ", readWrite, query, params);
+	}
+
+	/**
+	 * Runs {@code query}, which must issue exactly one statement, and explains that statement with {@code params}
+	 * bound in order. For a limited query the row limit is the last param; Hibernate may bind an offset before it,
+	 * which is bound as 0, or inline it, in which case it is dropped.
+	 */
+	private Plan plan(String explain, TransactionTemplate transaction, Runnable query, Object... params) {
+		statementCounter.startRecording();
+		List<String> statements;
+		try {
+			transaction.executeWithoutResult(status -> {
+				query.run();
+				status.setRollbackOnly();
+			});
+		} finally {
+			statements = statementCounter.stopRecording();
+		}
+		assertEquals(1, statements.size(), () -> "expected one statement, got " + statements);
+		String sql = statements.get(0);
+		// H2 explains a data change delta table as a scan of the changed rows; the plan that matters is the DML inside it
+		Matcher delta = DELTA_TABLE.matcher(sql);
+		if (delta.matches()) {
+			sql = delta.group(1);
+		}
+
+		List<Object> args = new ArrayList<>(List.of(params));
+		long placeholders = sql.chars().filter(c -> c == '?').count();
+		if (placeholders == args.size() + 1) {
+			args.add(args.size() - 1, 0);
+		} else if (placeholders == args.size() - 1) {
+			args.remove(args.size() - 1);
+		} else if (placeholders != args.size()) {
+			fail("statement has " + placeholders + " parameters but the test bound " + args.size() + ":\n" + sql);
+		}
+		return new Plan(sql, jdbc.queryForObject(explain + sql, String.class, args.toArray()));
+	}
+
+	private Call assertRoundTrips(int max, MockHttpServletRequestBuilder request) throws Exception {
+		statementCounter.startRecording();
+		String body;
+		List<String> statements;
+		try {
+			body = mockMvc.perform(request)
+					.andExpect(status().is2xxSuccessful())
+					.andReturn().getResponse().getContentAsString();
+		} finally {
+			statements = statementCounter.stopRecording();
+		}
+
+		assertTrue(statements.size() <= max,
+				() -> "expected at most " + max + " statements, got " + statements.size() + ":\n" + String.join("\n", statements));
+		Set<String> seen = new HashSet<>();
+		for (String sql : statements) {
+			// The same read twice in one call; the sequence call is left out, as it may repeat legitimately
+			if (!sql.contains("book_seq") && !seen.add(sql)) {
+				fail("statement run twice in one call:\n" + sql);
+			}
+		}
+		return new Call(statements, body.isEmpty() ? null : objectMapper.readTree(body));
+	}
+
+	private BookDto addBook() {
+		return bookService.addBook(BookDto.builder()
+				.title("Statement Count Book")
+				.author("Statement Count Author")
+				.isbn(newIsbn())
+				.publishedDate(LocalDate.of(2010, 1, 1))
+				.build());
+	}
+
+	private static Map<String, Object> bookJson(String title, String isbn) {
+		return Map.of(
+				"title", title,
+				"author", "Statement Count Author",
+				"isbn", isbn,
+				"publishedDate", "2010-01-01");
+	}
+
+	// 979 prefix, so never one of the seeded ISBNs
+	private String newIsbn() {
+		return TestIsbns.isbn13(979, nextIsbn.incrementAndGet());
+	}
+
+	private static String seededIsbn13(long id) {
+		return TestIsbns.isbn13(id);
+	}
+
+	// TestIsbns.isbn13(X) as SQL over SYSTEM_RANGE's X. The 978 prefix adds 9 + 7 * 3 + 8 = 38 to the check sum,
+	// and the nine digits of X that follow are weighted 3, 1, 3, ... from the left.
+	private static String seededIsbn13Sql() {
+		StringBuilder sum = new StringBuilder("38");
+		for (int power = 8; power >= 0; power--) {
+			sum.append(power % 2 == 0 ? " + 3 * " : " + ")
+					.append("MOD(X / ").append((long) Math.pow(10, power)).append(", 10)");
+		}
+		return "'978' || LPAD(CAST(X AS VARCHAR), 9, '0') || CAST(MOD(10 - MOD(" + sum + ", 10), 10) AS VARCHAR)";
+	}
+
+	private static List<Long> ids(long from, int count) {
+		return LongStream.range(from, from + count).boxed().toList();
+	}
+
+	private record Call(List<String> statements, JsonNode body) {
+	}
+
+	private record Plan(String sql, String text) {
+
+		// H2 names the index it reads in a comment, e.g. /* PUBLIC.UK_BOOK_ISBN13: ISBN13 = ?1 */
+		Plan uses(String index) {
+			assertTrue(Pattern.compile("PUBLIC\\." + index + "\\b").matcher(text).find(), () -> "expected index " + index + "\n" + this);
+			assertFalse(text.contains("tableScan"), () -> "table scan\n" + this);
+			return this;
+		}
+
+		Plan sortedByIndex() {
+			assertTrue(text.contains("index sorted"), () -> "ORDER BY is not served by an index\n" + this);
+			return this;
+		}
+
+		Plan scansAtMost(long budget) {
+			long scanned = SCAN_COUNT.matcher(text).results().mapToLong(match -> Long.parseLong(match.group(1))).sum();
+			assertTrue(scanned <= budget, () -> "scanned " + scanned + " rows, budget " + budget + "\n" + this);
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return sql + "\n" + text;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.BookPatchDto;
+import com.lawpavillion.bk.exception.BookConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Several writers concurrently increment a counter kept in one book's title, each update based on the
+ * version the writer last saw. Every increment must survive: a lost update would leave the counter short.
+ */
+@SpringBootTest
+class BookConcurrencyStressTest {
+
+	private static final int WRITERS = 8;
+	private static final int UPDATES_PER_WRITER = 50;
+
+	@Autowired
+	private BookService bookService;
+
+	@Test
+	void concurrentVersionedPatchesLoseNoUpdates() throws Exception {
+		BookDto book = bookService.addBook(BookDto.builder().title("Counter 0").author("Stress Test").build());
+		long initialVersion = book.getVersion();
+
+		AtomicLong conflicts = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+		List<Future<Void>> writers = new ArrayList<>();
+		for (int w = 0; w < WRITERS; w++) {
+			writers.add(pool.submit(() -> {
+				start.await();
+				BookDto seen = bookService.getBook(book.getId());
+				int applied = 0;
+				while (applied < UPDATES_PER_WRITER) {
+					try {
+						seen = bookService.patchBook(book.getId(), increment(seen));
+						applied++;
+					} catch (BookConflictException e) {
+						// Someone else got there first; retry on top of their state
+						conflicts.incrementAndGet();
+						seen = e.getCurrent();
+					}
+				}
+				return null;
+			}));
+		}
+
+		long started = System.nanoTime();
+		start.countDown();
+		for (Future<Void> writer : writers) {
+			writer.get(2, TimeUnit.MINUTES);
+		}
+		long elapsedNanos = System.nanoTime() - started;
+		pool.shutdown();
+
+		int expected = WRITERS * UPDATES_PER_WRITER;
+		BookDto result = bookService.getBook(book.getId());
+		assertEquals("Counter " + expected, result.getTitle());
+		assertEquals(initialVersion + expected, result.getVersion());
+
+		double seconds = elapsedNanos / 1e9;
+		System.out.printf("%d writers, %d updates in %.2fs: %.0f updates/s, %d conflicts (%.1f%% of attempts)%n",
+				WRITERS, expected, seconds, expected / seconds, conflicts.get(),
+				100.0 * conflicts.get() / (expected + conflicts.get()));
+	}
+
+	// The new title depends on the state the writer last saw, which is what makes a lost update detectable
+	private static BookPatchDto increment(BookDto seen) {
+		int count = Integer.parseInt(seen.getTitle().substring("Counter ".length()));
+		return BookPatchDto.builder()
+				.title("Counter " + (count + 1))
+				.version(seen.getVersion())
+				.build();
+	}
+}
@@ -0,0 +1,47 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookCursorTest {
+
+	@Test
+	void decodesWhatItEncodes() {
+		LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_456_000);
+		for (BookCursor.Direction direction : BookCursor.Direction.values()) {
+			BookCursor cursor = new BookCursor(direction, updatedAt, 42L);
+			assertEquals(cursor, BookCursor.decode(cursor.encode()));
+		}
+	}
+
+	@Test
+	void encodesAsAUrlSafeToken() {
+		String token = new BookCursor(BookCursor.Direction.AFTER, LocalDateTime.of(2024, 1, 1, 0, 0), 9_999_999L).encode();
+		assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		for (String token : new String[]{
+				"%%%",
+				"not-a-cursor",
+				encode("SIDEWAYS|2024-01-01T00:00|1"),
+				encode("AFTER|yesterday|1"),
+				encode("AFTER|2024-01-01T00:00|one"),
+				encode("AFTER|2024-01-01T00:00")}) {
+			assertThrows(InvalidCursorException.class, () -> BookCursor.decode(token), token);
+		}
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,63 @@
+package com.lawpavillion.bk.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.lawpavillion.bk.TestIsbns;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.BookPatchDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+class BookExportServiceTest {
+
+	@Autowired
+	private BookService bookService;
+
+	@Autowired
+	private BookExportService exportService;
+
+	@Test
+	void csvExportCarriesEveryColumnIncludingVersion() throws Exception {
+		String isbn = TestIsbns.next();
+		BookDto book = bookService.addBook(BookDto.builder()
+				.title("Exported Book")
+				.author("Export Test")
+				.isbn(isbn)
+				.publishedDate(LocalDate.of(2001, 2, 3))
+				.build());
+		bookService.patchBook(book.getId(), BookPatchDto.builder().title("Exported Book, Revised").build());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(CatalogFormat.CSV, out);
+		String csv = out.toString(StandardCharsets.UTF_8);
+
+		assertEquals("id,title,author,isbn,publishedDate,version", csv.lines().findFirst().orElseThrow());
+		Map<String, String> row = null;
+		try (MappingIterator<Map<String, String>> rows = BookCsv.MAPPER.readerForMapOf(String.class)
+				.with(BookCsv.READ_SCHEMA)
+				.readValues(csv)) {
+			while (rows.hasNext()) {
+				Map<String, String> next = rows.next();
+				if (String.valueOf(book.getId()).equals(next.get("id"))) {
+					row = next;
+				}
+			}
+		}
+		assertNotNull(row, "exported rows must include book " + book.getId());
+		assertEquals("Exported Book, Revised", row.get("title"));
+		assertEquals("Export Test", row.get("author"));
+		assertEquals(isbn, row.get("isbn"));
+		assertEquals("2001-02-03", row.get("publishedDate"));
+		// One edit after the insert
+		assertEquals(String.valueOf(book.getVersion() + 1), row.get("version"));
+	}
+}
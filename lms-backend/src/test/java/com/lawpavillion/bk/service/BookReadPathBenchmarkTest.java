@@ -0,0 +1,112 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.TestIsbns;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the cost of reading one catalog page as managed entities mapped to DTOs against the JPQL
+ * DTO projection, measuring bytes allocated on the calling thread and mean latency per page.
+ * The query cache is off so every iteration goes to the database.
+ *
+ * Run with: mvn test -Dtest=BookReadPathBenchmarkTest -Dbenchmarks=true
+ */
+@SpringBootTest(properties = "lms.cache.enabled=false")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class BookReadPathBenchmarkTest {
+
+	private static final int CATALOG_SIZE = 5_000;
+	private static final int[] PAGE_SIZES = {25, 100, 1000};
+	private static final int ROWS_PER_RUN = 200_000;
+
+	@Autowired
+	private BookService bookService;
+
+	@Autowired
+	private BookRepository bookRepo;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void projectionAllocatesLessThanEntities() {
+		List<BookDto> books = new ArrayList<>(CATALOG_SIZE);
+		for (int i = 0; i < CATALOG_SIZE; i++) {
+			books.add(BookDto.builder()
+					.title("Benchmark Book " + i)
+					.author("Benchmark Author " + (i % 100))
+					.isbn(TestIsbns.isbn13(i))
+					.publishedDate(LocalDate.of(2000, 1, 1).plusDays(i))
+					.build());
+		}
+		assertEquals(CATALOG_SIZE, bookService.addBooks(books).getSucceeded());
+
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+
+		System.out.printf("%-28s %6s %14s %12s%n", "read path", "size", "bytes/page", "us/page");
+		for (int size : PAGE_SIZES) {
+			Pageable page = PageRequest.of(0, size, Sort.by("updatedAt").descending());
+			int iterations = Math.max(20, ROWS_PER_RUN / size);
+
+			Result entities = measure("entities, read-write tx", size, iterations,
+					() -> readWrite.execute(status -> toDtos(page)));
+			Result readOnlyEntities = measure("entities, read-only tx", size, iterations,
+					() -> readOnly.execute(status -> toDtos(page)));
+			Result projection = measure("DTO projection, read-only tx", size, iterations,
+					() -> readOnly.execute(status -> bookRepo.findDtosBy(page).getContent()));
+
+			assertTrue(projection.bytesPerPage() < readOnlyEntities.bytesPerPage(),
+					"projection should allocate less than entities at page size " + size);
+			assertTrue(readOnlyEntities.bytesPerPage() <= entities.bytesPerPage() * 1.05,
+					"a read-only transaction should not allocate more at page size " + size);
+		}
+	}
+
+	private List<BookDto> toDtos(Pageable page) {
+		return bookRepo.findAllBy(page).map(BookMapper::toDto).getContent();
+	}
+
+	private static Result measure(String name, int size, int iterations, Supplier<List<BookDto>> read) {
+		// Warm up the JIT and the statement cache before measuring
+		for (int i = 0; i < iterations; i++) {
+			assertEquals(size, read.get().size());
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().threadId();
+		long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+		long started = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			read.get();
+		}
+		long elapsedNanos = System.nanoTime() - started;
+		long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+		Result result = new Result(allocated / iterations, elapsedNanos / 1_000.0 / iterations);
+		System.out.printf("%-28s %6d %14d %12.1f%n", name, size, result.bytesPerPage(), result.microsPerPage());
+		return result;
+	}
+
+	private record Result(long bytesPerPage, double microsPerPage) {
+	}
+}
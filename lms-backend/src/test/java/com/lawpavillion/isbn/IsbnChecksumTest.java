@@ -0,0 +1,86 @@
+package com.lawpavillion.isbn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ISBN rules shared by both backends' {@code @Isbn} constraint and the desktop client.
+ * lms-shared has no build of its own, so its tests run here.
+ */
+class IsbnChecksumTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"0306406152",
+			"0-306-40615-2",
+			"0 306 40615 2",
+			"080442957X",
+			"0-8044-2957-X",
+			"9780306406157",
+			"978-0-306-40615-7",
+			"978 0 306 40615 7",
+			"9791090636071",
+			"979-10-90636-07-1",
+			"ISBN 0-306-40615-2",
+			"ISBN-10 0306406152",
+			"ISBN-10: 0-8044-2957-X",
+			"ISBN: 978-0-306-40615-7",
+			"ISBN-13: 979-10-90636-07-1"
+	})
+	void acceptsValidIsbns(String isbn) {
+		assertTrue(IsbnChecksum.isValid(isbn), isbn);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			// Wrong check digit
+			"0306406153",
+			"0804429570",
+			"9780306406158",
+			"9791090636072",
+			// Correct ISBN-13 check digit but neither 978 nor 979
+			"9770306406158",
+			// X anywhere but the ISBN-10 check digit, or lowercase
+			"080442957x",
+			"08044295X7",
+			"978030640615X",
+			// Too short or too long
+			"030640615",
+			"03064061522",
+			"97803064061570",
+			// Separators doubled, leading, trailing or of another kind
+			"0--306-40615-2",
+			"-0306406152",
+			"0306406152-",
+			"0.306.40615.2",
+			// Prefix not exactly "ISBN", "ISBN-10" or "ISBN-13", optional colon, then one space
+			"isbn 0306406152",
+			"ISBN0306406152",
+			"ISBN:0306406152",
+			"ISBN-11: 0306406152",
+			"ISBN  0306406152",
+			"",
+			" "
+	})
+	void rejectsInvalidIsbns(String isbn) {
+		assertFalse(IsbnChecksum.isValid(isbn), isbn);
+	}
+
+	@Test
+	void rejectsNull() {
+		assertFalse(IsbnChecksum.isValid(null));
+	}
+
+	@Test
+	void computesTheIsbn13CheckDigit() {
+		assertEquals('7', IsbnChecksum.checkDigit13("978030640615"));
+		assertEquals('1', IsbnChecksum.checkDigit13("979109063607"));
+		// A digit sum that is already a multiple of 10 gives 0, not 10
+		assertEquals('0', IsbnChecksum.checkDigit13("978000000020"));
+	}
+}
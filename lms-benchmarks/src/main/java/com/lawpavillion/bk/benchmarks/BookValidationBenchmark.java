@@ -0,0 +1,59 @@
+package com.lawpavillion.bk.benchmarks;
+
+import com.lawpavillion.bk.dto.BookDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Bean Validation of one BookDto, as done for every POST, PUT and batch item, and of its ISBN alone
+ * through the @Isbn constraint. The ISBN forms cover the accepted shapes and a near miss; the
+ * validator on its own, against the regex it replaced, is in IsbnValidationBenchmark.
+ */
+@State(Scope.Benchmark)
+public class BookValidationBenchmark {
+
+    @Param({"9780132350884", "978-0-13-235088-4", "ISBN-13: 978-0-13-235088-4", "0-13-235088-2", "978-0-13-235088-4-1"})
+    private String isbn;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BookDto book;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        book = BookDto.builder()
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .isbn(isbn)
+                .publishedDate(LocalDate.of(2008, 8, 1))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookDto>> validateBook() {
+        return validator.validate(book);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookDto>> validateIsbn() {
+        return validator.validateProperty(book, "isbn");
+    }
+}
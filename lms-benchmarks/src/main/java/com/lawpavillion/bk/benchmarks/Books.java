@@ -0,0 +1,57 @@
+package com.lawpavillion.bk.benchmarks;
+
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.model.Book;
+import com.lawpavillion.isbn.IsbnChecksum;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog rows shaped like the ones the backend serves, shared by the benchmarks.
+ */
+public final class Books {
+
+    private Books() {
+    }
+
+    public static List<Book> entities(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Book book = Book.builder()
+                    .title("The Collected Essays on Software Design, Volume " + i)
+                    .author("Author Number " + (i % 37))
+                    .isbn(isbn(i))
+                    .publishedDate(LocalDate.of(1990, 1, 1).plusDays(i * 7L))
+                    .version((long) (i % 5))
+                    .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+                    .build();
+            book.setId(i + 1L);
+            books.add(book);
+        }
+        return books;
+    }
+
+    public static List<BookDto> dtos(int count) {
+        List<BookDto> books = new ArrayList<>(count);
+        for (Book book : entities(count)) {
+            books.add(BookDto.builder()
+                    .id(book.getId())
+                    .title(book.getTitle())
+                    .author(book.getAuthor())
+                    .isbn(book.getIsbn())
+                    .publishedDate(book.getPublishedDate())
+                    .version(book.getVersion())
+                    .build());
+        }
+        return books;
+    }
+
+    // Hyphenated like "978-0-13-000042-7", with a valid check digit
+    private static String isbn(int i) {
+        String first12 = "978013" + String.format("%06d", i);
+        return "978-0-13-" + first12.substring(6) + "-" + IsbnChecksum.checkDigit13(first12);
+    }
+}
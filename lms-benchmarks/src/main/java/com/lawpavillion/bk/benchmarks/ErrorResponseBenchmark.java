@@ -0,0 +1,69 @@
+package com.lawpavillion.bk.benchmarks;
+
+import com.lawpavillion.bk.controller.BookController;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.ErrorResponse;
+import com.lawpavillion.bk.exception.BookConflictException;
+import com.lawpavillion.bk.exception.BookNotFoundException;
+import com.lawpavillion.bk.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.time.LocalDate;
+
+/**
+ * Error-body construction in GlobalExceptionHandler for the errors clients hit most: an unknown id,
+ * a stale edit and a rejected request body. Includes the handler's logging, which formats the stack
+ * trace for a missing book; logback.xml drops the output so the console does not dominate the numbers.
+ */
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private BookNotFoundException notFound;
+    private BookConflictException conflict;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        notFound = new BookNotFoundException("Book with ID 42 not found");
+        BookDto current = Books.dtos(1).get(0);
+        conflict = new BookConflictException("Book 1 was changed by someone else (now at version " + current.getVersion() + ")", current);
+
+        BookDto book = BookDto.builder()
+                .title("")
+                .author("")
+                .isbn("not an isbn")
+                .publishedDate(LocalDate.now().plusYears(1))
+                .build();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(book, "bookDto");
+        bindingResult.rejectValue("title", "NotBlank", "Title cannot be blank");
+        bindingResult.rejectValue("author", "NotBlank", "Author cannot be blank");
+        bindingResult.rejectValue("isbn", "Pattern", "Invalid ISBN format");
+        bindingResult.rejectValue("publishedDate", "PastOrPresent", "Published date cannot be in the future");
+        MethodParameter parameter = new MethodParameter(BookController.class.getMethod("addBooks", BookDto.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> bookNotFound() {
+        return handler.handleBookNotFoundException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> bookConflict() {
+        return handler.handleBookConflictException(conflict);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validationFailed() {
+        return handler.handleValidationException(invalid);
+    }
+}
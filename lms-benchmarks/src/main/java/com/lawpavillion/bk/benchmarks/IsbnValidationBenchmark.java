@@ -0,0 +1,41 @@
+package com.lawpavillion.bk.benchmarks;
+
+import com.lawpavillion.isbn.IsbnChecksum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.regex.Pattern;
+
+/**
+ * ISBN checks on their own: the single-pass IsbnChecksum behind @Isbn and ValidationUtils.isValidISBN,
+ * against the two checks it replaced. The backend used a precompiled lookahead @Pattern (shape only, no
+ * check digit); the client stripped separators with replaceAll and matched twice, compiling three patterns
+ * per call. The last ISBN is a near miss that makes the backend pattern try every alternative.
+ */
+@State(Scope.Benchmark)
+public class IsbnValidationBenchmark {
+
+    private static final Pattern BACKEND_PATTERN = Pattern.compile(
+            "^(?:ISBN(?:-1[03])?:? )?(?=[0-9X]{10}$|(?=(?:[0-9]+[- ]){3})[- 0-9X]{13}$|97[89][0-9]{10}$|(?=(?:[0-9]+[- ]){4})[- 0-9]{17}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9X]$");
+
+    @Param({"9780132350884", "978-0-13-235088-4", "ISBN-13: 978-0-13-235088-4", "0-13-235088-2", "978-0-13-235088-4-1"})
+    private String isbn;
+
+    @Benchmark
+    public boolean backendPattern() {
+        return BACKEND_PATTERN.matcher(isbn).matches();
+    }
+
+    @Benchmark
+    public boolean clientReplaceAndMatch() {
+        String cleanIsbn = isbn.replaceAll("[\\s-]", "");
+        return cleanIsbn.matches("\\d{10}") || cleanIsbn.matches("\\d{13}");
+    }
+
+    @Benchmark
+    public boolean checksum() {
+        return IsbnChecksum.isValid(isbn);
+    }
+}
@@ -0,0 +1,61 @@
+package com.lawpavillion.bk.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.bk.dto.ApiResponse;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.dto.PageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Jackson serialization of a catalog page: the ApiResponse around a Spring Data Page, and the compact
+ * PageResponse that GET /api/books now renders. The mapper comes from the builder Spring Boot configures.
+ */
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"25", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<BookDto>> pageResponse;
+    private ApiResponse<PageResponse<BookDto>> compactResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Page<BookDto> page = new PageImpl<>(Books.dtos(pageSize), PageRequest.of(0, pageSize), 10_000);
+        pageResponse = ApiResponse.<Page<BookDto>>builder()
+                .success(true)
+                .message("All books delivered successfully!")
+                .data(page)
+                .timestamp(LocalDateTime.now())
+                .build();
+        compactResponse = ApiResponse.<PageResponse<BookDto>>builder()
+                .success(true)
+                .message("All books delivered successfully!")
+                .data(PageResponse.of(page))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] springDataPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] pageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(compactResponse);
+    }
+}
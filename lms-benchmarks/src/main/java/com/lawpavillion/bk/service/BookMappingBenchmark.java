@@ -0,0 +1,39 @@
+package com.lawpavillion.bk.service;
+
+import com.lawpavillion.bk.benchmarks.Books;
+import com.lawpavillion.bk.dto.BookDto;
+import com.lawpavillion.bk.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+/**
+ * Entity to BookDto mapping as BookServiceImpl does it for every page it reads through the entity path.
+ * Lives in the service package because BookMapper is package-private.
+ */
+@State(Scope.Benchmark)
+public class BookMappingBenchmark {
+
+    @Param({"25", "1000"})
+    private int pageSize;
+
+    private Page<Book> page;
+
+    @Setup
+    public void setUp() {
+        List<Book> books = Books.entities(pageSize);
+        page = new PageImpl<>(books, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public Page<BookDto> mapPage() {
+        return page.map(BookMapper::toDto);
+    }
+}
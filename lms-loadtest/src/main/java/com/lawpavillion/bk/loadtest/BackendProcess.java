@@ -0,0 +1,103 @@
+package com.lawpavillion.bk.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * lms-backend started as a child JVM on free ports with a fresh in-memory database, so the load generator
+ * does not share a heap or GC with the server. Stopped on close.
+ */
+final class BackendProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final String url;
+
+    private BackendProcess(Process process, String url) {
+        this.process = process;
+        this.url = url;
+    }
+
+    static BackendProcess start(Path jar, Path log) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Backend jar not found at " + jar.toAbsolutePath()
+                    + "; build it with mvn -f ../lms-backend package -DskipTests or set -Dlms.loadtest.jar");
+        }
+        int port = freePort();
+        int managementPort = freePort();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        // Command-line arguments take precedence over application.properties
+        Process process = new ProcessBuilder(List.of(java, "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--management.server.port=" + managementPort,
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--lms.search.index-dir=" + log.getParent().resolve("search-index").toAbsolutePath(),
+                "--logging.level.root=WARN"))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        BackendProcess backend = new BackendProcess(process, "http://localhost:" + port);
+        try {
+            backend.awaitHealthy(managementPort);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            backend.close();
+            throw e;
+        }
+        return backend;
+    }
+
+    String url() {
+        return url;
+    }
+
+    private void awaitHealthy(int managementPort) throws IOException, InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + managementPort + "/actuator/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Backend exited with status " + process.exitValue() + "; see its log");
+                }
+                try {
+                    if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("Backend did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lawpavillion.bk.loadtest;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Starts lms-backend (unless lms.loadtest.url points at a running one), seeds it, drives the mixed
+ * workload and reports the results. See README.md for the settings.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Files.createDirectories(config.reportDir());
+
+        BackendProcess backend = null;
+        String url = config.url();
+        if (url == null) {
+            System.out.println("Starting " + config.backendJar());
+            backend = BackendProcess.start(config.backendJar(), config.reportDir().resolve("backend.log"));
+            url = backend.url();
+        }
+
+        try (Workload workload = new Workload(config, url)) {
+            System.out.printf("Seeding %d books at %s%n", config.seedBooks(), url);
+            workload.seed();
+
+            System.out.printf("Running %d clients for %ds after %ds warm-up, mix %s%n", config.clients(),
+                    config.duration().toSeconds(), config.warmup().toSeconds(), config.mix());
+            Instant started = Instant.now();
+            Map<Operation, Samples> samples = workload.run();
+
+            Report report = Report.of(started, config, samples);
+            report.print();
+            report.write(config.reportDir());
+            System.out.println("Report written to " + config.reportDir().toAbsolutePath());
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.lawpavillion.bk.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings for one run, read from -Dlms.loadtest.* system properties.
+ *
+ * @param backendJar  runnable backend jar to start; ignored when url is set
+ * @param url         base URL of an already running backend, or null to start one
+ * @param seedBooks   books inserted before the run
+ * @param clients     concurrent closed-loop clients, each sending its next request when the previous one returns
+ * @param warmup      time before measuring starts
+ * @param duration    measured time
+ * @param pageSize    books per list and search page
+ * @param mix         relative weight of each operation
+ * @param reportDir   where report.json, report.html and the backend log go
+ */
+public record LoadTestConfig(Path backendJar, String url, int seedBooks, int clients, Duration warmup, Duration duration,
+                             int pageSize, Map<Operation, Integer> mix, Path reportDir) {
+
+    private static final String PREFIX = "lms.loadtest.";
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Path.of(property("jar", "../lms-backend/target/lms-0.0.1-SNAPSHOT-exec.jar")),
+                System.getProperty(PREFIX + "url"),
+                Integer.parseInt(property("seed-books", "10000")),
+                Integer.parseInt(property("clients", "50")),
+                Duration.parse(property("warmup", "PT10S")),
+                Duration.parse(property("duration", "PT60S")),
+                Integer.parseInt(property("page-size", "20")),
+                parseMix(property("mix", "list=60,search=20,add=10,update=7,delete=3")),
+                Path.of(property("report-dir", "target/loadtest-report")));
+    }
+
+    // e.g. list=60,search=20,add=10,update=7,delete=3; operations left out are not sent
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix has no operations: " + mix);
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,12 @@
+package com.lawpavillion.bk.loadtest;
+
+/**
+ * The requests the workload mixes, by the names used in lms.loadtest.mix.
+ */
+public enum Operation {
+    LIST,
+    SEARCH,
+    ADD,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,96 @@
+package com.lawpavillion.bk.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and error rate per operation and overall, printed and written to
+ * report.json and report.html.
+ */
+record Report(Instant started, LoadTestConfig config, List<Row> rows) {
+
+    /**
+     * One line of the report. Latencies are in milliseconds and cover successful requests only.
+     */
+    record Row(String operation, long requests, long errors, double errorRate, double throughput,
+               double p50, double p95, double p99, double p999, double max) {
+    }
+
+    static Report of(Instant started, LoadTestConfig config, Map<Operation, Samples> samples) {
+        double seconds = config.duration().toNanos() / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Samples total = new Samples();
+        samples.forEach((operation, forOperation) -> {
+            rows.add(row(operation.name().toLowerCase(), forOperation, seconds));
+            total.addAll(forOperation);
+        });
+        rows.add(row("total", total, seconds));
+        return new Report(started, config, rows);
+    }
+
+    private static Row row(String name, Samples samples, double seconds) {
+        long[] sorted = samples.sorted();
+        long requests = sorted.length + samples.errors();
+        return new Row(name, requests, samples.errors(), requests == 0 ? 0 : (double) samples.errors() / requests,
+                sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted.length == 0 ? Double.NaN : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sortedNanos, double fraction) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(fraction * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    void print() {
+        System.out.printf("%-8s %10s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "error %", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows) {
+            System.out.printf("%-8s %10d %8d %8.2f %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", row.operation(), row.requests(),
+                    row.errors(), row.errorRate() * 100, row.throughput(), row.p50(), row.p95(), row.p99(), row.p999(), row.max());
+        }
+    }
+
+    void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        json.writeValue(dir.resolve("report.json").toFile(), Map.of(
+                "started", started.toString(),
+                "clients", config.clients(),
+                "seedBooks", config.seedBooks(),
+                "durationSeconds", config.duration().toSeconds(),
+                "mix", config.mix(),
+                "results", rows));
+        Files.writeString(dir.resolve("report.html"), html());
+    }
+
+    private String html() {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>lms-backend load test</title>\n")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("th,td{border:1px solid #ccc;padding:4px 10px;text-align:right}th:first-child,td:first-child{text-align:left}</style>\n")
+                .append("</head><body>\n<h1>lms-backend load test</h1>\n")
+                .append(String.format("<p>Started %s; %d clients for %ds after %ds warm-up against %d seeded books; mix %s.</p>%n",
+                        started, config.clients(), config.duration().toSeconds(), config.warmup().toSeconds(),
+                        config.seedBooks(), config.mix()))
+                .append("<table>\n<tr><th>operation</th><th>requests</th><th>errors</th><th>error %</th><th>req/s</th>")
+                .append("<th>p50 ms</th><th>p95 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th></tr>\n");
+        for (Row row : rows) {
+            html.append(String.format("<tr><td>%s</td><td>%d</td><td>%d</td><td>%.2f</td><td>%.1f</td>"
+                            + "<td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td></tr>%n",
+                    row.operation(), row.requests(), row.errors(), row.errorRate() * 100, row.throughput(),
+                    row.p50(), row.p95(), row.p99(), row.p999(), row.max()));
+        }
+        return html.append("</table>\n</body></html>\n").toString();
+    }
+}
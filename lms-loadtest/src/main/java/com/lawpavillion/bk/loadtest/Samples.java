@@ -0,0 +1,48 @@
+package com.lawpavillion.bk.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies (in nanoseconds) and error count for one operation, collected by a single client thread
+ * and merged after the run.
+ */
+final class Samples {
+
+    private long[] latencies = new long[256];
+    private int count;
+    private long errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void addAll(Samples other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long[] sorted() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,233 @@
+package com.lawpavillion.bk.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lawpavillion.isbn.IsbnChecksum;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The mixed workload: seeds the catalog, then runs closed-loop clients that each pick an operation by weight,
+ * send it and wait for the answer before picking the next.
+ *
+ * Updates go to seeded books and deletes only to books the run itself added, so the two never race and a 404
+ * is a real error. A delete with nothing added yet to remove is sent as an add instead.
+ */
+final class Workload implements AutoCloseable {
+
+    private static final int SEED_CHUNK = 1_000;
+    private static final String[] WORDS = {"Design", "Patterns", "Systems", "Data", "Networks", "Compilers",
+            "Algorithms", "Databases", "Security", "Concurrency"};
+
+    private final LoadTestConfig config;
+    private final String booksUrl;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final Operation[] wheel;
+    private final ConcurrentLinkedQueue<Long> addedIds = new ConcurrentLinkedQueue<>();
+    // Books are numbered across the seed and the run, so every ISBN is unique and no add is rejected as a duplicate
+    private final AtomicInteger nextBook = new AtomicInteger();
+    private long[] seededIds;
+
+    Workload(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.booksUrl = baseUrl + "/api/books";
+        // Client threads are virtual, so the load generator is not what limits the number of clients
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<Operation> slots = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        this.wheel = slots.toArray(Operation[]::new);
+    }
+
+    void seed() throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(config.seedBooks());
+        for (int start = 0; start < config.seedBooks(); start += SEED_CHUNK) {
+            List<Map<String, Object>> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(start + SEED_CHUNK, config.seedBooks()); i++) {
+                chunk.add(book(nextBook.getAndIncrement()));
+            }
+            HttpResponse<String> response = http.send(post(booksUrl + "/batch", json.writeValueAsString(chunk)),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : json.readTree(response.body()).path("data").path("items")) {
+                if (item.path("success").asBoolean()) {
+                    ids.add(item.path("id").asLong());
+                }
+            }
+        }
+        if (ids.isEmpty() && config.mix().getOrDefault(Operation.UPDATE, 0) > 0) {
+            throw new IllegalStateException("Updates need seeded books; set lms.loadtest.seed-books above 0");
+        }
+        seededIds = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Runs the clients through the warm-up and the measured window and returns the samples per operation.
+     * Only requests sent after the warm-up and completed inside the window are counted.
+     */
+    Map<Operation, Samples> run() throws InterruptedException {
+        long warmupEnds = System.nanoTime() + config.warmup().toNanos();
+        long measureEnds = warmupEnds + config.duration().toNanos();
+
+        List<Future<Map<Operation, Samples>>> clients = new ArrayList<>(config.clients());
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < config.clients(); c++) {
+                clients.add(pool.submit(() -> runClient(warmupEnds, measureEnds)));
+            }
+        }
+
+        Map<Operation, Samples> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Samples>> client : clients) {
+            try {
+                client.get().forEach((operation, samples) ->
+                        merged.computeIfAbsent(operation, o -> new Samples()).addAll(samples));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Client failed", e.getCause());
+            }
+        }
+        return merged;
+    }
+
+    private Map<Operation, Samples> runClient(long warmupEnds, long measureEnds) {
+        Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        int counter = 0;
+        long now;
+        while ((now = System.nanoTime()) < measureEnds) {
+            Operation operation = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+            Long deleteId = null;
+            if (operation == Operation.DELETE) {
+                deleteId = addedIds.poll();
+                if (deleteId == null) {
+                    operation = Operation.ADD;
+                }
+            }
+
+            boolean ok;
+            try {
+                ok = send(operation, deleteId, counter++);
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long finished = System.nanoTime();
+
+            if (now >= warmupEnds && finished <= measureEnds) {
+                Samples forOperation = samples.computeIfAbsent(operation, o -> new Samples());
+                if (ok) {
+                    forOperation.record(finished - now);
+                } else {
+                    forOperation.error();
+                }
+            }
+        }
+        return samples;
+    }
+
+    private boolean send(Operation operation, Long deleteId, int counter) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case LIST -> {
+                int pages = Math.max(1, seededIds.length / config.pageSize());
+                yield ok(http.send(get(booksUrl + "?page=" + random.nextInt(pages) + "&size=" + config.pageSize()),
+                        HttpResponse.BodyHandlers.discarding()));
+            }
+            case SEARCH -> {
+                String query = URLEncoder.encode(WORDS[random.nextInt(WORDS.length)], StandardCharsets.UTF_8);
+                yield ok(http.send(get(booksUrl + "/search?query=" + query + "&size=" + config.pageSize()),
+                        HttpResponse.BodyHandlers.discarding()));
+            }
+            case ADD -> {
+                HttpResponse<String> response = http.send(post(booksUrl, json.writeValueAsString(book(nextBook.getAndIncrement()))),
+                        HttpResponse.BodyHandlers.ofString());
+                if (ok(response)) {
+                    addedIds.add(json.readTree(response.body()).path("data").path("id").asLong());
+                }
+                yield ok(response);
+            }
+            case UPDATE -> {
+                long id = seededIds[random.nextInt(seededIds.length)];
+                Map<String, Object> changes = Map.of("title", "Revised " + WORDS[random.nextInt(WORDS.length)] + " " + counter);
+                HttpRequest request = HttpRequest.newBuilder(URI.create(booksUrl + "/" + id))
+                        .timeout(Duration.ofSeconds(60))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(json.writeValueAsString(changes)))
+                        .build();
+                yield ok(http.send(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            case DELETE -> {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(booksUrl + "/" + deleteId))
+                        .timeout(Duration.ofSeconds(60))
+                        .DELETE()
+                        .build();
+                yield ok(http.send(request, HttpResponse.BodyHandlers.discarding()));
+            }
+        };
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).build();
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, Object> book(int i) {
+        return Map.of(
+                "title", WORDS[i % WORDS.length] + " in Practice, Volume " + i,
+                "author", "Load Test Author " + (i % 50),
+                "isbn", isbn(i),
+                "publishedDate", LocalDate.of(2000, 1, 1).plusDays(i % 9_000).toString());
+    }
+
+    // 978 + 9 digits of i + check digit; the backend rejects ISBNs whose check digit is wrong
+    private static String isbn(int i) {
+        String first12 = String.format("978%09d", i);
+        return first12 + IsbnChecksum.checkDigit13(first12);
+    }
+
+    @Override
+    public void close() {
+        http.close();
+    }
+}
@@ -0,0 +1,126 @@
+package com.lawpavillion.isbn;
+
+/**
+ * ISBN-10 and ISBN-13 validation, check digit included, in a single pass over the characters and without
+ * allocating. lms-backend, lms-backend-reactive and LMS-UI all compile this file from lms-shared, so the
+ * server and the desktop client accept exactly the same ISBNs.
+ *
+ * Accepted: 10 digits (the last may be X) or 13 digits starting with 978 or 979, optionally split by single
+ * hyphens or spaces, optionally after an "ISBN ", "ISBN-10: " or "ISBN-13: " prefix (the colon is optional).
+ */
+public final class IsbnChecksum {
+
+    private IsbnChecksum() {
+    }
+
+    public static boolean isValid(CharSequence isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        int i = prefixLength(isbn);
+        if (i < 0) {
+            return false;
+        }
+
+        int digits = 0;
+        int sum10 = 0;
+        int sum13 = 0;
+        int prefix = 0;
+        boolean checkX = false;
+        // Starts true so that a leading separator is rejected
+        boolean afterSeparator = true;
+        for (int length = isbn.length(); i < length; i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (checkX || ++digits > 13) {
+                    return false;
+                }
+                int digit = c - '0';
+                // ISBN-10 weights run 10 down to 1; ISBN-13 weights alternate 1 and 3
+                sum10 += digit * (11 - digits);
+                sum13 += (digits & 1) == 1 ? digit : digit * 3;
+                if (digits <= 3) {
+                    prefix = prefix * 10 + digit;
+                }
+                afterSeparator = false;
+            } else if (c == 'X') {
+                // X stands for 10 and only as the ISBN-10 check digit
+                if (checkX || ++digits != 10) {
+                    return false;
+                }
+                sum10 += 10;
+                checkX = true;
+                afterSeparator = false;
+            } else if (c == '-' || c == ' ') {
+                if (afterSeparator) {
+                    return false;
+                }
+                afterSeparator = true;
+            } else {
+                return false;
+            }
+        }
+
+        if (afterSeparator) {
+            return false;
+        }
+        if (digits == 10) {
+            return sum10 % 11 == 0;
+        }
+        return digits == 13 && !checkX && (prefix == 978 || prefix == 979) && sum13 % 10 == 0;
+    }
+
+    /**
+     * The canonical form of a valid ISBN: the 13 digits of its ISBN-13, without prefix or separators.
+     * An ISBN-10 is converted by prefixing 978 and recomputing the check digit. Returns null for anything
+     * {@link #isValid} rejects, so every ISBN that validates has a canonical form and nothing else does.
+     */
+    public static String toIsbn13(CharSequence isbn) {
+        if (!isValid(isbn)) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(13);
+        for (int i = prefixLength(isbn), length = isbn.length(); i < length; i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() == 13) {
+            return digits.toString();
+        }
+        // Only the first nine digits of an ISBN-10 carry over; its check digit (possibly X) is replaced
+        digits.setLength(9);
+        digits.insert(0, "978");
+        return digits.append(checkDigit13(digits)).toString();
+    }
+
+    /**
+     * The ISBN-13 check digit for the given first 12 digits.
+     */
+    public static char checkDigit13(CharSequence first12) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = first12.charAt(i) - '0';
+            sum += (i & 1) == 0 ? digit : digit * 3;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    // Length of an "ISBN", "ISBN-10" or "ISBN-13" prefix with optional colon and its space; 0 if absent, -1 if malformed
+    private static int prefixLength(CharSequence isbn) {
+        int length = isbn.length();
+        if (length < 4 || isbn.charAt(0) != 'I' || isbn.charAt(1) != 'S' || isbn.charAt(2) != 'B' || isbn.charAt(3) != 'N') {
+            return 0;
+        }
+        int i = 4;
+        if (i + 2 < length && isbn.charAt(i) == '-' && isbn.charAt(i + 1) == '1'
+                && (isbn.charAt(i + 2) == '0' || isbn.charAt(i + 2) == '3')) {
+            i += 3;
+        }
+        if (i < length && isbn.charAt(i) == ':') {
+            i++;
+        }
+        return i < length && isbn.charAt(i) == ' ' ? i + 1 : -1;
+    }
+}
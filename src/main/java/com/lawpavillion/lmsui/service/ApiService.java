@@ -25,6 +25,7 @@ import java.util.Map;
  */
 public class ApiService {
     private static final String BASE_URL = "http://localhost:8080/api/books";
+    private static final int SEARCH_RESULT_LIMIT = 100;
     private final RestTemplate restTemplate;
     private final Gson gson;
 
@@ -177,18 +178,27 @@ public class ApiService {
     }
 
     /**
-     * Search books by title or author.
+     * Search books by title, author or ISBN using the backend search index.
+     * Returns the most relevant matches, up to SEARCH_RESULT_LIMIT books.
      */
     public List<Book> searchBooks(String query) {
         try {
-            List<Book> allBooks = getAllBooks();
-            String lowerQuery = query.toLowerCase();
-            
-            return allBooks.stream()
-                    .filter(book -> 
-                        book.getTitle().toLowerCase().contains(lowerQuery) ||
-                        book.getAuthor().toLowerCase().contains(lowerQuery))
-                    .toList();
+            String url = BASE_URL + "/search?query={query}&page=0&size={size}";
+            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class, query, SEARCH_RESULT_LIMIT);
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                Map<String, Object> apiResponse = gson.fromJson(response.getBody(), Map.class);
+                Map<String, Object> pageData = (Map<String, Object>) apiResponse.get("data");
+                if (pageData == null) return Collections.emptyList();
+
+                List<Map<String, Object>> content = (List<Map<String, Object>>) pageData.get("content");
+                if (content == null) return Collections.emptyList();
+
+                return content.stream()
+                        .map(item -> gson.fromJson(gson.toJson(item), Book.class))
+                        .toList();
+            }
+            return Collections.emptyList();
         } catch (Exception e) {
             System.err.println("Error searching books: " + e.getMessage());
             return Collections.emptyList();